@@ -0,0 +1,114 @@
+/*
+ Project B — Allocation regression check for the solve hot path
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - After warm-up, a solve should allocate nothing per expanded node, so GC pressure stays
+     flat however big the map or however many solves we run.
+   - Measures bytes allocated by this thread (com.sun.management.ThreadMXBean) around
+     backtrack.solve and TestGoal4.solveLowest, on a small map and on a map with many more
+     nodes, and fails if the per-solve figure is above a small fixed allowance or grows
+     with the map.
+
+ Usage:
+   javac *.java
+   java TestAllocation          (prints PASS/FAIL per check, exit code 1 on any failure)
+*/
+
+import java.lang.management.ManagementFactory;
+
+public class TestAllocation {
+
+    // Slack for the measuring call itself; a per-node allocation would be far above this
+    private static final long ALLOWED_BYTES_PER_SOLVE = 64;
+    private static final int WARMUP = 2000;
+    private static final int RUNS = 200;
+
+    private static boolean failed = false;
+
+    public static void main(String[] args) {
+        java.lang.management.ThreadMXBean std = ManagementFactory.getThreadMXBean();
+        if (!(std instanceof com.sun.management.ThreadMXBean)) {
+            System.out.println("SKIP: this JVM cannot report per-thread allocated bytes.");
+            return;
+        }
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) std;
+        if (!mx.isThreadAllocatedMemorySupported()) {
+            System.out.println("SKIP: this JVM cannot report per-thread allocated bytes.");
+            return;
+        }
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        finderMap small = new finderMap(
+            "x!xxxxx\n" +
+            "X38888#\n" +
+            "X21xx1x\n" +
+            "x52324x");
+        finderMap snake = new finderMap(serpentine(40, 41));  // long single corridor for backtrack
+        finderMap open  = new finderMap(openGrid(4, 6));      // many routes for Goal 4
+
+        check(mx, "backtrack.solve small",   small, fm -> backtrack.solve(fm));
+        check(mx, "backtrack.solve snake",   snake, fm -> backtrack.solve(fm));
+        check(mx, "solveLowest small",       small, fm -> TestGoal4.solveLowest(fm));
+        check(mx, "solveLowest open grid",   open,  fm -> TestGoal4.solveLowest(fm));
+
+        if (failed) {
+            System.out.println("\nAllocation check FAILED.");
+            System.exit(1);
+        }
+        System.out.println("\nAllocation check passed.");
+    }
+
+    private interface solveCall {
+        void run(finderMap fm);
+    }
+
+    private static void check(com.sun.management.ThreadMXBean mx, String name, finderMap fm, solveCall call) {
+        long tid = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) call.run(fm);
+
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < RUNS; i++) call.run(fm);
+        long after = mx.getThreadAllocatedBytes(tid);
+
+        long perSolve = (after - before) / RUNS;
+        boolean ok = perSolve <= ALLOWED_BYTES_PER_SOLVE;
+        if (!ok) failed = true;
+        System.out.println((ok ? "PASS " : "FAIL ") + name + ": " + perSolve + " bytes/solve");
+    }
+
+    // A corridor that snakes through every row: '#' top-left, '!' at the far end
+    private static String serpentine(int rows, int cols) {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                char ch;
+                if (r % 2 == 0) ch = '1';
+                else if (r % 4 == 1) ch = (c == cols - 1) ? '2' : 'x';
+                else ch = (c == 0) ? '2' : 'x';
+                if (r == 0 && c == 0) ch = '#';
+                sb.append(ch);
+            }
+            sb.append('\n');
+        }
+        // Put the end at the last cell of the last (walkable) row
+        int last = (rows - 1) % 2 == 0 ? rows - 1 : rows - 2;
+        int endCol = (last % 4 == 0) ? cols - 1 : 0;
+        sb.setCharAt(last * (cols + 1) + endCol, '!');
+        return sb.toString();
+    }
+
+    // Open grid, all cost 1, '#' top-left and '!' bottom-right
+    private static String openGrid(int rows, int cols) {
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (r == 0 && c == 0) sb.append('#');
+                else if (r == rows - 1 && c == cols - 1) sb.append('!');
+                else sb.append((char) ('1' + (r + c) % 9));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -52,5 +52,9 @@ public class TestGoal3 {
         System.out.println(fm.renderSteps());
 
         System.out.println("\nTotal cost = " + backtrack.getFinalCost());
+
+        // Same map, each neighbor order: how much searching and what it found
+        System.out.println("\n== Neighbor orders ==");
+        System.out.print(backtrack.compareOrders(fm));
     }
 }
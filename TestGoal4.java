@@ -1,7 +1,6 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 
 /*
  Project B — Goal Set #4: Find Lowest Cost Path using Backtracking
@@ -11,11 +10,35 @@ import java.util.ArrayList;
    - Load a weighted maze from file.
    - Use the flood fill algorithm with backtracking to find all possible route.
    - Out of all the possible route, return the lowest cost route.
+
+ Notes:
+   - Only the cheapest route so far is kept (cells copied into a reused buffer), and the
+     map is rendered once at the end, so the search allocates nothing per route or per
+     step once its buffers have grown to the map size. TestAllocation checks this.
+   - routeStream gives every route lazily if you need more than the cheapest one.
+   - solveLowest(fm, searchBudget) stops after a node / depth / time budget and returns the
+     cheapest route found so far, marked non-exhaustive.
 */
 
 public class TestGoal4 {
     //private static completeRoute route = new completeRoute();
-    private final static ArrayList<completeRoute> routes = new ArrayList<>();
+
+    // Lowest-cost route seen so far: bestCells[0..bestLength) from '#' to '!'
+    private static int bestCost = -1;
+    private static int bestLength = 0;
+    private static int[] bestCells = new int[0];
+
+    // Current route (pathCells[step - 1] = cell) and the end position, set per search
+    private static int[] pathCells = new int[0];
+    private static int endR, endC;
+
+    // Budget for the current search (see searchBudget); unlimited unless solveLowest sets it
+    private static long nodes = 0;
+    private static long nodeCap = Long.MAX_VALUE;
+    private static int depthCap = Integer.MAX_VALUE;
+    private static long deadline = Long.MAX_VALUE;
+    private static searchBudget.limit stoppedBy = searchBudget.limit.NONE;
+    private static boolean depthCut = false;
 
     /**
      * Main function for running goal set 4.
@@ -33,37 +56,25 @@ public class TestGoal4 {
 
         //String[] lines = contents.split("\n", -1);
 
-        floodfill_dfs(fm, fm.getStartOrEnd('s')[0], fm.getStartOrEnd('s')[1], 0, 1);
+        int cost = solveLowest(fm);
 
-        if (!routes.isEmpty()) {
-            int lowest = 0;
-            for (int i = 0; i < routes.size(); ++i) {
-                if (routes.get(i).getCost() < routes.get(lowest).getCost()) lowest = i;
-            }
-            System.out.println("\n== Lowest Cost Path ==");
-
-            System.out.println(routes.get(lowest).getPath());
+        if (cost >= 0) {
+            // Implementation required by Goal Set 4
+            completeRoute lowest = new completeRoute(cost, fm.getString());
 
-            System.out.println("\nTotal cost = " + routes.get(lowest).getCost());
-        } else {
-            System.out.println("\nNo path found from # to ! (check map).");
-        }
-        /*
-        if (route.hasPath()) {
             System.out.println("\n== Lowest Cost Path ==");
 
-            System.out.println(route.getPath());
+            System.out.println(lowest.getPath());
 
-            System.out.println("\nTotal cost = " + route.getCost());
+            System.out.println("\nTotal cost = " + lowest.getCost());
         } else {
             System.out.println("\nNo path found from # to ! (check map).");
         }
-        */
     }
 
     /**
      * Uses the floodfill algorithm with backtracking to find all possible routes of a maze.
-     * Adds all possible routes along with their costs to an arrayList of routes.
+     * Keeps the cheapest route found (first one wins on ties) in bestCells / bestCost.
      * 
      * @param fm
      * @param x
@@ -72,6 +83,17 @@ public class TestGoal4 {
      * @param step
      */
     public static void floodfill_dfs(finderMap fm, int x, int y, int cost, int step) {
+        int cells = fm.getRows() * fm.getCols();
+        if (pathCells.length < cells) pathCells = new int[cells];
+        if (bestCells.length < cells) bestCells = new int[cells];
+        int e = Math.max(fm.getEndCell(), 0);
+        endR = e / fm.getCols();
+        endC = e % fm.getCols();
+
+        search(fm, x, y, cost, step);
+    }
+
+    private static void search(finderMap fm, int x, int y, int cost, int step) {
         // System.out.println("Current position: " + x + "," + y);
 
         // Goal Set 4: Bounds + walkable
@@ -79,24 +101,22 @@ public class TestGoal4 {
         if (!fm.getPath(x, y)) return;             // blocked cell
         if(fm.getVisited(x, y) != 0) return;  // Already walked here
 
+        // Budgets: stop everything once a node/time budget is spent; trim over-long routes
+        if (stoppedBy != searchBudget.limit.NONE) return;
+        if (nodes >= nodeCap) { stoppedBy = searchBudget.limit.NODES; return; }
+        if ((++nodes & 1023) == 0 && System.nanoTime() > deadline) { stoppedBy = searchBudget.limit.TIME; return; }
+        if (step > depthCap) { depthCut = true; return; }
+
         fm.setVisited(x, y, step);
+        pathCells[step - 1] = x * fm.getCols() + y;
 
-        if((x == fm.getStartOrEnd('e')[0] && y == fm.getStartOrEnd('e')[1])) {
+        if (x == endR && y == endC) {
             // Optimal Implementation without unnecessary objects
-            /*
-            if (route.hasPath() == false) {
-                route.setTrue();
-                route.setCost(cost);
-                route.setPath(fm.getString());
-            } else {
-                if (cost < route.getCost()) {
-                    route.setCost(cost);
-                    route.setPath(fm.getString());
-                }
-            }*/
-
-            // Implementation required by Goal Set 4
-            routes.add(new completeRoute(cost,fm.getString()));
+            if (bestCost < 0 || cost < bestCost) {
+                bestCost = cost;
+                bestLength = step;
+                System.arraycopy(pathCells, 0, bestCells, 0, step);
+            }
             // System.exit(0); Only used for Goal set 2
         }
 
@@ -104,23 +124,66 @@ public class TestGoal4 {
         step += 1;
 
         if(fm.getPath(x+1, y)) {
-            floodfill_dfs(fm, x+1, y, cost, step);
+            search(fm, x+1, y, cost, step);
         }
         if(fm.getPath(x-1, y)) {
-            floodfill_dfs(fm, x-1, y, cost, step);
+            search(fm, x-1, y, cost, step);
         }
         if(fm.getPath(x, y+1)) {
-            floodfill_dfs(fm, x, y+1, cost, step);
+            search(fm, x, y+1, cost, step);
         }
         if(fm.getPath(x, y-1)) {
-            floodfill_dfs(fm, x, y-1, cost, step);
+            search(fm, x, y-1, cost, step);
         }
 
         fm.clearVisitedAt(x, y);
     }
 
+    /**
+     * Runs the all-routes search and leaves the lowest-cost route numbered in fm's step grid.
+     * Used by solveCache so the Goal 4 result can be cached like backtrack.solve.
+     *
+     * @param fm
+     * @return lowest total cost, or -1 if no route exists
+     */
+    public static int solveLowest(finderMap fm) {
+        run(fm, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+        return bestCost;
+    }
+
+    /**
+     * Budgeted version of solveLowest. When a budget runs out, returns the cheapest route
+     * found so far (also numbered in fm's step grid) with exhaustive = false.
+     *
+     * @param fm
+     * @param budget
+     * @return best route so far, nodes expanded, and whether the search was complete
+     */
+    public static searchResult solveLowest(finderMap fm, searchBudget budget) {
+        run(fm, budget.nodeCap(), budget.depthCap(), budget.deadlineFromNow());
+        boolean exhaustive = stoppedBy == searchBudget.limit.NONE && !depthCut;
+        searchBudget.limit why = (stoppedBy == searchBudget.limit.NONE && depthCut) ? searchBudget.limit.DEPTH : stoppedBy;
+        return new searchResult(bestCost, java.util.Arrays.copyOf(bestCells, bestLength), nodes, exhaustive, why);
+    }
+
+    private static void run(finderMap fm, long maxNodes, int maxDepth, long stopAt) {
+        bestCost = -1;
+        bestLength = 0;
+        nodes = 0;
+        nodeCap = maxNodes;
+        depthCap = maxDepth;
+        deadline = stopAt;
+        stoppedBy = searchBudget.limit.NONE;
+        depthCut = false;
+        fm.clearAllVisited();
+
+        int s = Math.max(fm.getStartCell(), 0);
+        floodfill_dfs(fm, s / fm.getCols(), s % fm.getCols(), 0, 1);
+
+        fm.applyPath(bestCells, bestLength);
+    }
+
     private static boolean inBounds(finderMap fm, int r, int c) {
-        try { fm.getCost(r, c); return true; }
-        catch (IndexOutOfBoundsException ex) { return false; }
+        return r >= 0 && r < fm.getRows() && c >= 0 && c < fm.getCols();
     }
 }
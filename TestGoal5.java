@@ -8,6 +8,8 @@
    - On "Solve", refer to the knightsTour-style solver in backtrack.java
      which numbers the successful path and erases dead ends.
    - Toggle between a COSTS view (x/#/!/0..F) and a STEPS view (numbered path).
+   - HEAT view: lowest cost from every cell to ! (finderMap.getCostField), green = close,
+     red = far. Built once per loaded map.
    - Show total cost reported by backtrack.getFinalCost() preferably on the bottom of the window. 
 
 
@@ -42,7 +44,7 @@ public class TestGoal5 extends Application {
     private GridPane grid;
     private Label status;
     private TextField fileField;
-    private RadioButton viewCosts, viewSteps;
+    private RadioButton viewCosts, viewSteps, viewHeat;
     private ToggleGroup viewToggle;
 
     // Cache start/end for coloring
@@ -64,13 +66,15 @@ public class TestGoal5 extends Application {
         viewToggle = new ToggleGroup();
         viewCosts = new RadioButton("Costs");
         viewSteps = new RadioButton("Steps");
+        viewHeat  = new RadioButton("Heat");
         viewCosts.setToggleGroup(viewToggle);
         viewSteps.setToggleGroup(viewToggle);
+        viewHeat.setToggleGroup(viewToggle);
         viewCosts.setSelected(true);
 
         HBox top = new HBox(8,
             new Label("File:"), fileField, loadBtn, solveBtn, resetBtn,
-            new Separator(), new Label("View:"), viewCosts, viewSteps
+            new Separator(), new Label("View:"), viewCosts, viewSteps, viewHeat
         );
         top.setPadding(new Insets(10));
         top.setAlignment(Pos.CENTER_LEFT);
@@ -163,9 +167,14 @@ public class TestGoal5 extends Application {
         if (fm == null) return;
 
         boolean showCosts = viewCosts.isSelected();
+        boolean showHeat  = viewHeat.isSelected();
         int rows = countRows();
         int cols = countCols();
 
+        // Heat view: cost-to-go from every cell (computed once per map, then cached)
+        int[][] heat = showHeat ? fm.getCostField().heatmap() : null;
+        int heatMax = showHeat ? Math.max(1, fm.getCostField().getMaxCost()) : 1;
+
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
                 Label cell = new Label();
@@ -174,8 +183,9 @@ public class TestGoal5 extends Application {
                 cell.setAlignment(Pos.CENTER);
                 cell.setStyle("-fx-font-family: 'Consolas', 'Monospaced'; -fx-font-size: 12; -fx-border-color: #222; -fx-border-width: 0.5;");
 
-                if (showCosts) setCostCellAppearance(cell, r, c);
-                else           setStepCellAppearance(cell, r, c);
+                if (showHeat)       setHeatCellAppearance(cell, r, c, heat[r][c], heatMax);
+                else if (showCosts) setCostCellAppearance(cell, r, c);
+                else                setStepCellAppearance(cell, r, c);
 
                 grid.add(cell, c, r);
             }
@@ -240,6 +250,27 @@ public class TestGoal5 extends Application {
         }
     }
 
+    // HEAT view cell: cost to reach ! from here
+    private void setHeatCellAppearance(Label cell, int r, int c, int toGo, int max) {
+        if (fm.getCost(r, c) < 0) {
+            cell.setText("x");
+            cell.setStyle(cell.getStyle() + "; -fx-background-color: #222; -fx-text-fill: #ddd;");
+            return;
+        }
+        if (toGo < 0) {
+            // walkable but cut off from !
+            cell.setText("-");
+            cell.setStyle(cell.getStyle() + "; -fx-background-color: #9ca3af; -fx-text-fill: #111;");
+            return;
+        }
+        // Green (0) -> yellow -> red (max)
+        double t = (double) toGo / max;
+        int red   = (int) Math.round(255 * Math.min(1.0, 2 * t));
+        int green = (int) Math.round(255 * Math.min(1.0, 2 * (1 - t)));
+        cell.setText(Integer.toString(toGo));
+        cell.setStyle(cell.getStyle() + String.format("; -fx-background-color: #%02x%02x40; -fx-text-fill: #111;", red, green));
+    }
+
     // Helpers
     private int countRows() {
         String costs = fm.renderCosts();
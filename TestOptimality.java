@@ -0,0 +1,223 @@
+/*
+ Project B — Optimality check for the fast solvers
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - The fast solvers promise exact (or bounded) answers; the all-routes search in
+     TestGoal4.solveLowest is slow but obviously right, so on small maps it is the reference.
+   - Maps carry up to three '#' and three '!': the extra markers are 0-cost cells a route may
+     cross, which is exactly where a heuristic that ignores them stops being admissible.
+   - Checks:
+       * weightedSearch, epsilon 0: cost == optimum and lower bound == optimum
+       * weightedSearch, epsilon 0.5: optimum <= cost <= 1.5 * optimum, lower bound <= optimum
+       * weightedSearch on a 200 x 200 map with '0' cells (h is 0 there): nodes expanded
+         drop at every step of epsilon 0, 0.5, 1, 2, with the same cost / bound guarantees
+         (optimum from deltaStepping, which is checked against solveLowest below)
+       * deltaStepping with 1 and 3 threads: cost == optimum, same route for both counts
+         (the 3-thread run hands every phase to the pool; small maps would otherwise be
+         relaxed on the calling thread)
+       * anytimeSolver run to the end: best cost == optimum, reported optimal whenever a
+         route exists
+       * multiRoute: for every '#', cost == cheapest solveLowest over every '!' (each pair
+         solved on a copy where the other markers are '0', the same 0-cost cell), its exit
+         is one that achieves it, and the best start has the overall minimum
+
+ Usage:
+   javac *.java
+   java TestOptimality          (prints PASS/FAIL per check, exit code 1 on any failure)
+*/
+
+import java.util.Random;
+
+public class TestOptimality {
+
+    private static final int MAPS = 3000;
+    private static final long SEED = 20240611L;
+
+    private static boolean failed = false;
+
+    public static void main(String[] args) {
+        // Extra '#' row makes the cheap route run through markers (optimum 0, not 36)
+        String markers = "#9999!\n######";
+
+        check("weightedSearch markers", new finderMap[] {new finderMap(markers)}, TestOptimality::weighted);
+        check("weightedSearch random", randomMaps(), TestOptimality::weighted);
+        checkNodesShrink();
+        check("deltaStepping markers", new finderMap[] {new finderMap(markers)}, TestOptimality::delta);
+        check("deltaStepping random", randomMaps(), TestOptimality::delta);
+        check("anytimeSolver markers", new finderMap[] {new finderMap(markers)}, TestOptimality::anytime);
+        check("anytimeSolver random", randomMaps(), TestOptimality::anytime);
+        check("multiRoute markers", new finderMap[] {new finderMap(markers)}, TestOptimality::multi);
+        check("multiRoute random", randomMaps(), TestOptimality::multi);
+
+        if (failed) {
+            System.out.println("\nOptimality check FAILED.");
+            System.exit(1);
+        }
+        System.out.println("\nOptimality check passed.");
+    }
+
+    private interface mapCheck {
+        /** Returns null if fm passes, otherwise a description of what went wrong. */
+        String run(finderMap fm, int optimum);
+    }
+
+    private static String weighted(finderMap fm, int optimum) {
+        weightedSearch.result exact = weightedSearch.solve(fm, 0);
+        if (exact.getCost() != optimum || exact.getLowerBound() != optimum) {
+            return "epsilon 0 gave cost " + exact.getCost() + ", bound " + exact.getLowerBound();
+        }
+        weightedSearch.result loose = weightedSearch.solve(fm, 0.5);
+        if (optimum < 0) {
+            return (loose.getCost() == -1) ? null : "epsilon 0.5 found a route that does not exist";
+        }
+        if (loose.getCost() < optimum || loose.getCost() > 1.5 * optimum || loose.getLowerBound() > optimum) {
+            return "epsilon 0.5 gave cost " + loose.getCost() + ", bound " + loose.getLowerBound();
+        }
+        return null;
+    }
+
+    private static void checkNodesShrink() {
+        finderMap fm = zeroCostMap(200);
+        int optimum = deltaStepping.solve(fm, 1).getCost();
+        double[] epsilons = {0, 0.5, 1, 2};
+        long previous = Long.MAX_VALUE;
+        StringBuilder counts = new StringBuilder();
+        for (double eps : epsilons) {
+            weightedSearch.result r = weightedSearch.solve(fm, eps);
+            counts.append(' ').append(r.getNodes());
+            if (r.getCost() < optimum || r.getCost() > (1 + eps) * optimum || r.getLowerBound() > optimum) {
+                failed = true;
+                System.out.println("FAIL weightedSearch nodes: epsilon " + eps + " gave cost " + r.getCost()
+                    + ", bound " + r.getLowerBound() + ", optimum " + optimum);
+                return;
+            }
+            if (r.getNodes() >= previous) {
+                failed = true;
+                System.out.println("FAIL weightedSearch nodes: no drop at epsilon " + eps + " (nodes" + counts + ")");
+                return;
+            }
+            previous = r.getNodes();
+        }
+        System.out.println("PASS weightedSearch nodes (epsilon 0, 0.5, 1, 2:" + counts + ")");
+    }
+
+    private static String delta(finderMap fm, int optimum) {
+        deltaStepping.result one = deltaStepping.solve(fm, 1);
+        deltaStepping.result three = deltaStepping.solve(fm, 3, deltaStepping.DEFAULT_DELTA, 0);
+        if (one.getCost() != optimum || three.getCost() != optimum) {
+            return "1 thread gave " + one.getCost() + ", 3 threads gave " + three.getCost();
+        }
+        if (!java.util.Arrays.equals(one.getPath(), three.getPath())) {
+            return "1 and 3 threads returned different routes";
+        }
+        return null;
+    }
+
+    private static String anytime(finderMap fm, int optimum) {
+        anytimeSolver.handle h = anytimeSolver.start(fm, 0, null);
+        try {
+            h.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+        if (h.getBestCost() != optimum || h.isOptimal() != (optimum >= 0)) {
+            return "best " + h.getBestCost() + ", optimal = " + h.isOptimal();
+        }
+        return null;
+    }
+
+    private static String multi(finderMap fm, int optimum) {
+        multiRoute.result r = multiRoute.solve(fm);
+        int[] starts = fm.getStartCells(), ends = fm.getEndCells();
+        int bestCost = -1;
+        for (int i = 0; i < starts.length; i++) {
+            int cheapest = -1, viaExit = -1;
+            for (int end : ends) {
+                int c = pairCost(fm, starts[i], end);
+                if (c >= 0 && (cheapest < 0 || c < cheapest)) cheapest = c;
+                if (end == r.getExit(i)) viaExit = c;
+            }
+            if (r.getCost(i) != cheapest || (cheapest >= 0 && viaExit != cheapest)) {
+                return "start " + i + " gave cost " + r.getCost(i) + " via exit " + r.getExit(i)
+                    + ", per-pair minimum " + cheapest;
+            }
+            if (cheapest >= 0 && (bestCost < 0 || cheapest < bestCost)) bestCost = cheapest;
+        }
+        return (r.getBestCost() == bestCost) ? null : "best cost " + r.getBestCost() + ", expected " + bestCost;
+    }
+
+    // Lowest cost from start to end with every other marker turned into a plain 0-cost cell
+    private static int pairCost(finderMap fm, int start, int end) {
+        char[] cells = fm.renderCosts().replace("\n", "").toCharArray();
+        for (int k = 0; k < cells.length; k++) {
+            if ((cells[k] == '#' && k != start) || (cells[k] == '!' && k != end)) cells[k] = '0';
+        }
+        int cols = fm.getCols();
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < fm.getRows(); r++) {
+            sb.append(cells, r * cols, cols).append('\n');
+        }
+        return TestGoal4.solveLowest(new finderMap(sb.toString()));
+    }
+
+    private static void check(String name, finderMap[] maps, mapCheck call) {
+        for (finderMap fm : maps) {
+            int optimum = TestGoal4.solveLowest(fm);
+            String problem = call.run(fm, optimum);
+            if (problem != null) {
+                failed = true;
+                System.out.println("FAIL " + name + ": optimum " + optimum + ", " + problem + "\n" + fm.getString());
+                return;
+            }
+        }
+        System.out.println("PASS " + name + " (" + maps.length + " maps)");
+    }
+
+    // n x n, '#' top left, '!' bottom right, costs 0..F, about one wall in five (never on the
+    // top row or right column, so a route always exists)
+    private static finderMap zeroCostMap(int n) {
+        Random rnd = new Random(SEED);
+        StringBuilder sb = new StringBuilder();
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                if (r == 0 && c == 0) sb.append('#');
+                else if (r == n - 1 && c == n - 1) sb.append('!');
+                else if (r != 0 && c != n - 1 && rnd.nextInt(5) == 0) sb.append('x');
+                else sb.append(Character.toUpperCase(Character.forDigit(rnd.nextInt(16), 16)));
+            }
+            sb.append('\n');
+        }
+        return new finderMap(sb.toString());
+    }
+
+    // Small random maps (2..4 x 3..5) with 1..3 '#' and 1..3 '!', same maps on every run
+    private static finderMap[] randomMaps() {
+        Random rnd = new Random(SEED);
+        finderMap[] maps = new finderMap[MAPS];
+        for (int i = 0; i < MAPS; i++) {
+            int rows = 2 + rnd.nextInt(3), cols = 3 + rnd.nextInt(3);
+            char[] cells = new char[rows * cols];
+            for (int k = 0; k < cells.length; k++) {
+                cells[k] = (rnd.nextInt(4) == 0) ? 'x' : Character.toUpperCase(Character.forDigit(rnd.nextInt(16), 16));
+            }
+            // Markers on distinct cells: shuffle the first few cell indices into place
+            int starts = 1 + rnd.nextInt(3), ends = 1 + rnd.nextInt(3);
+            int[] order = new int[cells.length];
+            for (int k = 0; k < order.length; k++) order[k] = k;
+            for (int k = 0; k < starts + ends; k++) {
+                int j = k + rnd.nextInt(order.length - k);
+                int t = order[k]; order[k] = order[j]; order[j] = t;
+                cells[order[k]] = (k < starts) ? '#' : '!';
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (int r = 0; r < rows; r++) {
+                sb.append(cells, r * cols, cols).append('\n');
+            }
+            maps[i] = new finderMap(sb.toString());
+        }
+        return maps;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ Project B — Anytime solver
+ Authors: William Yang, Mohammed Uddin
+
+ Purpose:
+   - Give callers (GUI, services) a usable route almost at once, then keep improving it
+     in the background until it is provably the cheapest, a deadline passes, or the
+     caller cancels.
+
+ Phases (all on one background thread):
+   1) Breadth-first search: the route with the fewest steps. Found in one pass over the
+      map and published straight away.
+   2) Weighted A* passes with weights 3, 2, 1.5, 1.25 and finally 1. Each pass only keeps
+      nodes that could still beat the best route so far (g + h < best), and publishes a
+      route only if it is strictly cheaper.
+   3) The weight-1 pass is plain A* with a consistent heuristic, so when it finishes the
+      best route is optimal. When h is 0 everywhere (see below) every weight orders the
+      queue by g alone, so the first weighted pass is already that exact pass and the
+      solver stops after it.
+
+   Heuristic h is the one weightedSearch uses: (manhattan distance to '!' - 1) * cheapest
+   cost of any cell other than this route's '#' and '!' (0 as soon as the map has another
+   marker, since markers cost 0). It never overestimates, so the last pass is exact and
+   isOptimal() can be trusted; with an overestimating h the bound prune below would throw
+   away the optimal branch. For a single bounded-suboptimal answer with a proven lower
+   bound, use weightedSearch directly.
+
+ Listener calls happen on the solver thread. The solver never writes into fm's step grid;
+ call fm.applyPath(path) on your own thread (e.g. the JavaFX thread) to show a route.
+
+ Usage:
+   anytimeSolver.handle h = anytimeSolver.start(fm, 200, (cost, path) -> ...);
+   h.await();            // or h.cancel()
+   h.getBestCost(); h.isOptimal();
+   completeRoute best = h.getBest();   // cost and cells of the same route
+*/
+
+public class anytimeSolver {
+
+    /** Receives every strictly cheaper route, and one final call when the solver stops. */
+    public interface listener {
+        void onRoute(int cost, int[] path);
+
+        /** Called once at the end; optimal = true if the last route is proven cheapest. */
+        default void onDone(int bestCost, boolean optimal) { }
+    }
+
+    private static final double[] WEIGHTS = {3.0, 2.0, 1.5, 1.25, 1.0};
+
+    /** Control and result of one background solve. */
+    public static class handle {
+        private final Thread thread;
+        private volatile boolean cancelled = false;
+        // One immutable snapshot, so a reader never pairs one route's cost with another's cells
+        private volatile completeRoute best = new completeRoute(-1, new int[0]);
+        private volatile boolean optimal = false;
+
+        private handle(Runnable body) {
+            this.thread = new Thread(body, "anytime-solver");
+            this.thread.setDaemon(true);
+        }
+
+        /** Ask the solver to stop; the best route so far stays available. */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /** Wait until the solver stops. */
+        public void await() throws InterruptedException {
+            thread.join();
+        }
+
+        /** Wait up to millis; returns true if the solver has stopped. */
+        public boolean await(long millis) throws InterruptedException {
+            thread.join(millis);
+            return !thread.isAlive();
+        }
+
+        public boolean isDone()       { return !thread.isAlive(); }
+        public int     getBestCost()  { return best.getCost(); }
+        public int[]   getBestPath()  { return best.getCells(); }
+        public boolean isOptimal()    { return optimal; }
+
+        /** Best route so far (cost -1 and no cells if none yet); cost and cells always match. */
+        public completeRoute getBest() { return best; }
+    }
+
+    /**
+     * Start solving fm in the background.
+     *
+     * @param fm map to solve (not modified)
+     * @param budgetMillis wall-clock budget; <= 0 means no deadline
+     * @param l receives improving routes (may be null)
+     * @return handle to wait on, cancel, or read the best route from
+     */
+    public static handle start(finderMap fm, long budgetMillis, listener l) {
+        long deadline = (budgetMillis > 0) ? System.nanoTime() + budgetMillis * 1_000_000L : Long.MAX_VALUE;
+        handle[] box = new handle[1];
+        box[0] = new handle(() -> new search(fm, box[0], deadline, l).run());
+        box[0].thread.start();
+        return box[0];
+    }
+
+    // ===== Search state for one solve =====
+
+    private static final class search {
+        final finderMap fm;
+        final handle h;
+        final long deadline;
+        final listener l;
+
+        final int rows, cols, start, end;
+        final int[][] cost;
+        final int hmin;
+
+        final int[] g;
+        final int[] parent;
+        final int[] closedPass; // pass number that closed the cell (0 = never)
+        final minHeap open;
+        long expanded = 0;
+
+        search(finderMap fm, handle h, long deadline, listener l) {
+            this.fm = fm;
+            this.h = h;
+            this.deadline = deadline;
+            this.l = l;
+            this.rows = fm.getRows();
+            this.cols = fm.getCols();
+            int[] s = fm.getStartOrEnd('s');
+            int[] e = fm.getStartOrEnd('e');
+            this.start = s[0] * cols + s[1];
+            this.end = e[0] * cols + e[1];
+            this.cost = fm.costRows();
+            this.hmin = weightedSearch.cheapestStep(fm);
+            this.g = new int[rows * cols];
+            this.parent = new int[rows * cols];
+            this.closedPass = new int[rows * cols];
+            this.open = new minHeap(1024);
+        }
+
+        void run() {
+            boolean finished = false;
+            try {
+                if (cost[start / cols][start % cols] < 0) return;
+                if (!breadthFirst()) { finished = true; return; } // no route at all: nothing to improve
+                for (int pass = 1; pass <= WEIGHTS.length; pass++) {
+                    if (!weightedPass(pass, WEIGHTS[pass - 1])) return; // stopped early
+                    if (hmin == 0) break; // h is 0: that pass was plain Dijkstra, already exact
+                }
+                finished = true;
+            } finally {
+                int bestCost = h.best.getCost();
+                h.optimal = finished && bestCost >= 0;
+                if (l != null) l.onDone(bestCost, h.optimal);
+            }
+        }
+
+        // Phase 1: fewest steps. Returns false if '!' is unreachable.
+        private boolean breadthFirst() {
+            java.util.Arrays.fill(parent, -2);
+            int[] queue = new int[rows * cols];
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            parent[start] = -1;
+            while (head < tail) {
+                int v = queue[head++];
+                if (v == end) {
+                    publish(v);
+                    return true;
+                }
+                int r = v / cols, c = v % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + finderMap.dr(d), nc = c + finderMap.dc(d);
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || cost[nr][nc] < 0) continue;
+                    int u = nr * cols + nc;
+                    if (parent[u] != -2) continue;
+                    parent[u] = v;
+                    queue[tail++] = u;
+                }
+            }
+            return false;
+        }
+
+        // Phase 2/3: weighted A* bounded by the best cost so far. Returns false if stopped early.
+        private boolean weightedPass(int pass, double w) {
+            long wk = Math.round(w * 1000);
+            java.util.Arrays.fill(g, Integer.MAX_VALUE);
+            open.clear();
+            g[start] = 0;
+            parent[start] = -1;
+            open.push(wk * h(start), start);
+            int bestCost = h.best.getCost(); // only this thread publishes, and only at the end of a pass
+
+            while (!open.isEmpty()) {
+                int v = open.pop();
+                if (closedPass[v] == pass) continue; // stale duplicate
+                closedPass[v] = pass;
+
+                if ((++expanded & 1023) == 0 && (h.cancelled || System.nanoTime() > deadline)) return false;
+
+                if (v == end) {
+                    if (g[v] < bestCost) publish(v);
+                    return true;
+                }
+
+                int r = v / cols, c = v % cols;
+                for (int d = 0; d < 4; d++) {
+                    int nr = r + finderMap.dr(d), nc = c + finderMap.dc(d);
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || cost[nr][nc] < 0) continue;
+                    int u = nr * cols + nc;
+                    if (closedPass[u] == pass) continue;
+                    int ng = g[v] + cost[nr][nc];
+                    if (ng >= g[u]) continue;
+                    if (ng + h(u) >= bestCost) continue; // cannot beat the current best
+                    g[u] = ng;
+                    parent[u] = v;
+                    open.push(ng * 1000L + wk * h(u), u);
+                }
+            }
+            return true; // exhausted: nothing cheaper than the current best exists at this weight
+        }
+
+        private int h(int v) {
+            return weightedSearch.h(v, end, cols, hmin);
+        }
+
+        // Rebuild the route ending at v from parent[] and hand it out
+        private void publish(int v) {
+            int n = 0;
+            for (int x = v; x != -1; x = parent[x]) n++;
+            int[] path = new int[n];
+            int total = 0;
+            for (int x = v, i = n - 1; x != -1; x = parent[x], i--) {
+                path[i] = x;
+                if (x != start) total += cost[x / cols][x % cols];
+            }
+            h.best = new completeRoute(total, path);
+            if (l != null) l.onRoute(total, path);
+        }
+    }
+}
@@ -21,6 +21,13 @@
    - finderMap (Goal 3 version) provides the data structure and helpers:
        getPath / getCost / getVisited / setVisited / clearVisitedAt / clearAllVisited / getStartOrEnd
    - Movement is 4-directional (up, right, down, left)
+   - Neighbor order is a choice (see order): FIXED (the original up/right/down/left),
+     GOAL_FIRST, CHEAPEST_FIRST or HYBRID. compareOrders(fm) reports nodes expanded and
+     found-path cost for each on the same map.
+   - Optional budgets: solve(fm, order, searchBudget) caps nodes, depth and time and
+     returns a searchResult instead of running until the map is exhausted.
+   - Optional: solve(fm.pruned()) skips cul-de-sacs sealed at load time; the path and cost
+     are the same, with far fewer dead-end steps written and erased.
 
 
 
@@ -33,26 +40,76 @@
 
 public class backtrack {
 
+    // FIXED order packed 2 bits per slot: 0, 1, 2, 3
+    private static final int FIXED_PACKED = 0b11_10_01_00;
+
+    /**
+     * Order in which dfs tries the neighbors of each cell.
+     *   FIXED          - up, right, down, left (the original Goal 3 behaviour)
+     *   GOAL_FIRST     - neighbors closer to '!' (manhattan distance) first
+     *   CHEAPEST_FIRST - lowest-cost neighbors first
+     *   HYBRID         - closer to '!' first; among equally close ones, cheapest first
+     * Ties always fall back to the FIXED order, so every strategy is deterministic.
+     */
+    public enum order { FIXED, GOAL_FIRST, CHEAPEST_FIRST, HYBRID }
+
     // Results after solve
     private static int finalCost = 0;
     private static boolean solved = false;
+    private static long nodesExpanded = 0;
 
-    /** Run the Goal 3 solver on the provided map. */
+    // Budget for the current solve (checked in dfs) and what, if anything, it cut off
+    private static long nodeCap = Long.MAX_VALUE;
+    private static int depthCap = Integer.MAX_VALUE;
+    private static long deadline = Long.MAX_VALUE;
+    private static searchBudget.limit stoppedBy = searchBudget.limit.NONE;
+    private static boolean depthCut = false;
+
+    /** Run the Goal 3 solver on the provided map (FIXED neighbor order). */
     public static boolean solve(finderMap fm) {
+        return solve(fm, order.FIXED);
+    }
+
+    /** Run the Goal 3 solver with the given neighbor order. */
+    public static boolean solve(finderMap fm, order o) {
+        return run(fm, o, Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Run the Goal 3 solver under a budget.
+     * If the budget runs out first, the result has no route, exhaustive = false, and
+     * getStoppedBy() says which limit was hit.
+     */
+    public static searchResult solve(finderMap fm, order o, searchBudget budget) {
+        boolean ok = run(fm, o, budget.nodeCap(), budget.depthCap(), budget.deadlineFromNow());
+        boolean exhaustive = ok || (stoppedBy == searchBudget.limit.NONE && !depthCut);
+        searchBudget.limit why = (stoppedBy == searchBudget.limit.NONE && depthCut) ? searchBudget.limit.DEPTH : stoppedBy;
+        return new searchResult(ok ? finalCost : -1, ok ? fm.getPathCells() : new int[0], nodesExpanded, exhaustive, why);
+    }
+
+    private static boolean run(finderMap fm, order o, long maxNodes, int maxDepth, long stopAt) {
         solved = false;
         finalCost = 0;
-
-        // Locate start/end
-        int[] s = fm.getStartOrEnd('s'); // '#'
-        int[] e = fm.getStartOrEnd('e'); // '!'
+        nodesExpanded = 0;
+        nodeCap = maxNodes;
+        depthCap = maxDepth;
+        deadline = stopAt;
+        stoppedBy = searchBudget.limit.NONE;
+        depthCut = false;
+
+        // Locate start/end (flat cell indices, so no arrays are allocated per solve)
+        int cols = fm.getCols();
+        int s = Math.max(fm.getStartCell(), 0); // '#'
+        int e = Math.max(fm.getEndCell(), 0);   // '!'
 
         // Reset any previous markings; start at step 1
         fm.clearAllVisited();
-        fm.setVisited(s[0], s[1], 1);
+        fm.setVisited(s / cols, s % cols, 1);
 
         // Start DFS from '#'; start cost is 0 (per spec: # and ! have cost 0)
-        boolean ok = dfs(fm, s[0], s[1], 1, 0, e[0], e[1]);
+        boolean ok = dfs(fm, o, s / cols, s % cols, 1, 0, e / cols, e % cols);
         solved = ok;
+        if (!ok && stoppedBy != searchBudget.limit.NONE) fm.clearAllVisited(); // drop the half-explored branch
         return ok;
     }
 
@@ -62,6 +119,28 @@ public class backtrack {
     public static boolean isSolved()  { 
         return solved; 
     }
+    /** Cells dfs was called on during the last solve. */
+    public static long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Solve fm once per order and report nodes expanded, path cost and path length.
+     * Leaves fm holding the last strategy's path.
+     */
+    public static String compareOrders(finderMap fm) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-15s %10s %6s %6s%n", "order", "nodes", "cost", "steps"));
+        for (order o : order.values()) {
+            boolean ok = solve(fm, o);
+            if (ok) {
+                sb.append(String.format("%-15s %10d %6d %6d%n", o, nodesExpanded, finalCost, fm.getPathCells().length));
+            } else {
+                sb.append(String.format("%-15s %10d %6s %6s%n", o, nodesExpanded, "-", "-"));
+            }
+        }
+        return sb.toString();
+    }
 
     /**
      * DFS with true backtracking (knightsTour-style):
@@ -71,7 +150,12 @@ public class backtrack {
      * Base case:
      *   if (r,c) == end, capture total cost and bubble up success.
      */
-    private static boolean dfs(finderMap fm, int r, int c, int stepNum, int runningCost, int er, int ec) {
+    private static boolean dfs(finderMap fm, order o, int r, int c, int stepNum, int runningCost, int er, int ec) {
+        // Budget checks: a couple of compares per node, nanoTime only every 1024 nodes
+        if (stoppedBy != searchBudget.limit.NONE) return false;
+        if (nodesExpanded >= nodeCap) { stoppedBy = searchBudget.limit.NODES; return false; }
+        nodesExpanded++;
+        if ((nodesExpanded & 1023) == 0 && System.nanoTime() > deadline) { stoppedBy = searchBudget.limit.TIME; return false; }
 
         // (5) Terminate when the end is reached
         if (r == er && c == ec) {
@@ -79,12 +163,11 @@ public class backtrack {
             return true;
         }
 
-        // Explore neighbors in fixed order to keep output deterministic
-        int[] dr = {-1, 0, 1, 0};
-        int[] dc = { 0, 1, 0,-1};
-
-        for (int i = 0; i < 4; i++) {
-            int nr = r + dr[i], nc = c + dc[i];
+        // Explore neighbors in the chosen (deterministic) order
+        int packed = (o == order.FIXED) ? FIXED_PACKED : neighborOrder(fm, o, r, c, er, ec);
+        for (int j = 0; j < 4; j++) {
+            int i = (packed >>> (2 * j)) & 3;
+            int nr = r + finderMap.dr(i), nc = c + finderMap.dc(i);
 
             // Bounds + walkable
             if (!inBounds(fm, nr, nc)) continue;
@@ -93,27 +176,62 @@ public class backtrack {
 
             // Prepare next step/cost
             int nextStep = stepNum + 1;
+            if (nextStep > depthCap) { depthCut = true; continue; } // route would be too long
             int nextCost = runningCost + fm.getCost(nr, nc);
 
             // (1) knightsTour-style: write the move number before recursing
             fm.setVisited(nr, nc, nextStep);
 
             // Recurse
-            if (dfs(fm, nr, nc, nextStep, nextCost, er, ec)) {
+            if (dfs(fm, o, nr, nc, nextStep, nextCost, er, ec)) {
                 return true; // propagate success up the call stack
             }
 
             // (1) knightsTour-style backtracking: erase the wrong route
             fm.clearVisitedAt(nr, nc);
+            if (stoppedBy != searchBudget.limit.NONE) return false; // out of budget: unwind
         }
 
         // No neighbor led to the end from this cell
         return false;
     }
 
-    // Minimal bounds check using finderMap's getCost to validate indices
+    /**
+     * Sort the 4 directions by the strategy's key and pack them 2 bits each (first in the
+     * low bits). Keys carry the direction in their low 2 bits, so ties keep FIXED order and
+     * no two keys are equal. A 5-compare sorting network on locals: nothing is allocated.
+     */
+    private static int neighborOrder(finderMap fm, order o, int r, int c, int er, int ec) {
+        int a = key(fm, o, r, c, 0, er, ec);
+        int b = key(fm, o, r, c, 1, er, ec);
+        int d = key(fm, o, r, c, 2, er, ec);
+        int e = key(fm, o, r, c, 3, er, ec);
+        int t;
+        if (a > b) { t = a; a = b; b = t; }
+        if (d > e) { t = d; d = e; e = t; }
+        if (a > d) { t = a; a = d; d = t; }
+        if (b > e) { t = b; b = e; e = t; }
+        if (b > d) { t = b; b = d; d = t; }
+        return (a & 3) | (b & 3) << 2 | (d & 3) << 4 | (e & 3) << 6;
+    }
+
+    private static int key(finderMap fm, order o, int r, int c, int i, int er, int ec) {
+        int nr = r + finderMap.dr(i), nc = c + finderMap.dc(i);
+        if (!inBounds(fm, nr, nc)) return Integer.MAX_VALUE - 3 + i; // skipped anyway
+        int dist = Math.abs(nr - er) + Math.abs(nc - ec);
+        int cost = Math.max(fm.getCost(nr, nc), 0);
+        int primary;
+        switch (o) {
+            case GOAL_FIRST:     primary = dist; break;
+            case CHEAPEST_FIRST: primary = cost; break;
+            case HYBRID:         primary = dist * 16 + cost; break;
+            default:             primary = 0; break;
+        }
+        return (primary << 2) | i;
+    }
+
+    // Bounds check against the map size (no exception thrown and caught at the edges)
     private static boolean inBounds(finderMap fm, int r, int c) {
-        try { fm.getCost(r, c); return true; }
-        catch (IndexOutOfBoundsException ex) { return false; }
+        return r >= 0 && r < fm.getRows() && c >= 0 && c < fm.getCols();
     }
 }
@@ -4,11 +4,15 @@
 
  Purpose:
    - This is the completeRoute class required by Goal Set 4.
+   - A route can also be compact: just the cost and the cell indices (row * cols + col)
+     from '#' to '!', with no rendered map. routeStream produces these; use
+     fm.applyPath(route.getCells()) and fm.getString() to render one when needed.
 */
 
 public class completeRoute {
     private int cost;
     private String mapString;
+    private int[] cells;
     //private boolean hasValue = false;
 
     // Previous implementation
@@ -40,6 +44,17 @@ public class completeRoute {
         this.mapString = s;
     }
 
+    /**
+     * Constructor for a compact route (no rendered map).
+     * 
+     * @param i total cost
+     * @param cells route cells from '#' to '!'
+     */
+    public completeRoute(int i, int[] cells) {
+        this.cost = i;
+        this.cells = cells;
+    }
+
     /**
      * Returns the cost of a route.
      * 
@@ -51,10 +66,21 @@ public class completeRoute {
 
     /**
      * Returns the path, which includes the steps taken to reach the end.
+     * Null for a compact route.
      * 
      * @return
      */
     public String getPath() {
         return mapString;
     }
+
+    /**
+     * Returns the route cells from '#' to '!' (row * cols + col).
+     * Null for a route built from a rendered map only.
+     * 
+     * @return
+     */
+    public int[] getCells() {
+        return cells;
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ Project B — Cost-to-go field from the exit
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - When '!' stays put and the starting point keeps changing, solve once backwards from
+     '!' instead of once per start.
+   - For every cell: the lowest cost of getting from that cell to the nearest '!' (dist),
+     which neighbour to step to next (next-hop direction), and which '!' that is.
+     With several '!' markers all of them seed the search, so one pass covers every exit.
+   - Any start cell then gives its optimal cost in O(1) and its route in O(route length),
+     and the whole dist grid doubles as a heatmap for TestGoal5.
+
+ How it works:
+   - Dijkstra from every '!' at once over reversed moves: stepping v -> u costs cost(u), so
+     dist(v) = min over neighbours u of cost(u) + dist(u), with dist('!') = 0.
+   - Ties on cost are broken by fewer steps, then by direction order (up, right, down,
+     left), so routes are deterministic.
+   - Same cost rule as the solvers: route cost = sum of the cells stepped onto after the start.
+
+ Usage:
+   costField f = fm.getCostField();      // built once, then cached on the map
+   f.costFrom(r, c);                     // -1 if blocked or '!' is unreachable
+   f.writePath(fm, r, c);                // numbers the route 1, 2, 3, ... into fm's steps
+*/
+
+public class costField {
+
+    private final int rows, cols;
+    private final int[] dist;   // -1 = blocked or cannot reach '!'
+    private final byte[] next;  // direction index of the next hop; -1 at '!' / unreachable
+    private final int[] exit;   // cell of the '!' this cell's route ends at; -1 if none
+    private final int maxCost;
+
+    private costField(int rows, int cols, int[] dist, byte[] next, int[] exit, int maxCost) {
+        this.rows = rows;
+        this.cols = cols;
+        this.dist = dist;
+        this.next = next;
+        this.exit = exit;
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * Build the field for all of fm's '!' markers. Prefer fm.getCostField(), which
+     * builds it once and caches it.
+     */
+    public static costField of(finderMap fm) {
+        int rows = fm.getRows(), cols = fm.getCols();
+        int[][] cost = fm.costRows();
+        int n = rows * cols;
+        long k = n; // key = cost * k + steps
+
+        long[] key = new long[n];
+        java.util.Arrays.fill(key, Long.MAX_VALUE);
+        byte[] next = new byte[n];
+        java.util.Arrays.fill(next, (byte) -1);
+        boolean[] done = new boolean[n];
+        int[] exit = new int[n];
+        java.util.Arrays.fill(exit, -1);
+
+        minHeap heap = new minHeap(1024);
+        for (int end : fm.getEndCells()) {
+            key[end] = 0;
+            exit[end] = end;
+            heap.push(0, end);
+        }
+
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            if (done[u]) continue;
+            done[u] = true;
+
+            int ur = u / cols, uc = u % cols;
+            long step = cost[ur][uc] * k + 1; // what moving onto u costs
+            for (int d = 0; d < 4; d++) {
+                int vr = ur + finderMap.dr(d), vc = uc + finderMap.dc(d);
+                if (vr < 0 || vr >= rows || vc < 0 || vc >= cols || cost[vr][vc] < 0) continue;
+                int v = vr * cols + vc;
+                if (done[v]) continue;
+                long nk = key[u] + step;
+                // From v the move to u goes in the opposite direction of d
+                byte dir = (byte) ((d + 2) & 3);
+                if (nk < key[v] || (nk == key[v] && dir < next[v])) {
+                    key[v] = nk;
+                    next[v] = dir;
+                    exit[v] = exit[u];
+                    heap.push(nk, v);
+                }
+            }
+        }
+
+        int[] dist = new int[n];
+        int max = 0;
+        for (int i = 0; i < n; i++) {
+            dist[i] = (key[i] == Long.MAX_VALUE) ? -1 : (int) (key[i] / k);
+            if (dist[i] > max) max = dist[i];
+        }
+        return new costField(rows, cols, dist, next, exit, max);
+    }
+
+    /** Lowest cost from (row,col) to '!'; -1 if blocked or '!' cannot be reached. O(1). */
+    public int costFrom(int row, int col) {
+        checkBounds(row, col);
+        return dist[row * cols + col];
+    }
+
+    /** Cell (row * cols + col) of the '!' nearest to (row,col); -1 if none is reachable. */
+    public int exitFrom(int row, int col) {
+        checkBounds(row, col);
+        return exit[row * cols + col];
+    }
+
+    /** Route from (row,col) to '!' as cell indices (row * cols + col); empty if none. */
+    public int[] pathFrom(int row, int col) {
+        checkBounds(row, col);
+        int v = row * cols + col;
+        if (dist[v] < 0) return new int[0];
+
+        int len = 1;
+        for (int x = v; next[x] >= 0; x = hop(x)) len++;
+        int[] path = new int[len];
+        int x = v;
+        for (int i = 0; i < len; i++) {
+            path[i] = x;
+            if (next[x] >= 0) x = hop(x);
+        }
+        return path;
+    }
+
+    /**
+     * Number the route from (row,col) to '!' into fm's step grid (1 at the start).
+     * fm must be the map this field was built from.
+     *
+     * @return the route cost, or -1 (and no marks) if there is no route
+     */
+    public int writePath(finderMap fm, int row, int col) {
+        int[] path = pathFrom(row, col);
+        fm.applyPath(path);
+        return (path.length == 0) ? -1 : dist[row * cols + col];
+    }
+
+    /** Copy of the field as [row][col] costs to '!' (-1 = blocked/unreachable), for display. */
+    public int[][] heatmap() {
+        int[][] out = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(dist, r * cols, out[r], 0, cols);
+        }
+        return out;
+    }
+
+    /** Largest finite cost in the field (for scaling a heatmap). */
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    private int hop(int x) {
+        int d = next[x];
+        return (x / cols + finderMap.dr(d)) * cols + (x % cols + finderMap.dc(d));
+    }
+
+    private void checkBounds(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols) {
+            throw new IndexOutOfBoundsException("Out of bounds: (" + r + "," + c + ")");
+        }
+    }
+}
@@ -0,0 +1,351 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ Project B — Parallel lowest-cost solver (delta-stepping)
+ Authors: William Yang, Mohammed Uddin
+
+ Purpose:
+   - Lowest-cost # -> ! route on very large maps, using all cores.
+   - Same cost rule as the other solvers: the route cost is the sum of the costs of the
+     cells stepped onto after '#' (both '#' and '!' cost 0).
+
+ How it works:
+   - dist[] is one flat long array with a key per cell: cost * K + hops, K = rows * cols.
+     Entering a cell u adds cost(u) * K + 1, so every edge has positive weight and the key
+     orders routes by cost first, then by number of steps.
+   - Keys are grouped into buckets of width delta * K. Buckets are processed in order; in each
+     phase the current bucket's cells are split between the threads, and each thread relaxes
+     neighbours with a lock-free compare-and-set "min" on dist[] and pushes improved cells into
+     its OWN bucket lists (no shared queues). A bucket is repeated until nothing lands in it.
+   - Costs are 0..15, so a relaxation never jumps more than 16 / delta + 1 buckets ahead;
+     the bucket lists are a small ring.
+   - Most phases are tiny (a few cells near the start, along thin corridors, at the tail of
+     each bucket), and handing those to the pool costs more than relaxing them. A frontier
+     below INLINE_PER_THREAD cells per thread is relaxed on the calling thread; only the
+     larger ones go to the pool and end in a barrier.
+   - The route is read back from dist[] by walking from '!' to the neighbour whose key is
+     exactly one step smaller (fixed order: up, right, down, left). The final keys are unique
+     optimal values, so the route is the same for every thread count, including 1.
+
+ Usage:
+   deltaStepping.result r = deltaStepping.solve(fm, 8);
+   r.getCost();   // -1 if no route; path is also numbered in fm's step grid
+   java deltaStepping 4000 1 2 4 8      (benchmark: 4000 x 4000 random map, thread counts)
+   Correctness against the sequential solvers is checked by TestOptimality.
+*/
+
+public class deltaStepping {
+
+    /** Default bucket width in cost units. */
+    public static final int DEFAULT_DELTA = 4;
+
+    /** Frontiers smaller than this many cells per thread are relaxed without the pool. */
+    static final int INLINE_PER_THREAD = 1024;
+
+    private static final long INF = Long.MAX_VALUE;
+    private static final VarHandle DIST = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Outcome of one solve. */
+    public static class result {
+        private final int cost;
+        private final int[] path;
+        private final long relaxations;
+        private final long barriers;
+        private final int threads;
+
+        result(int cost, int[] path, long relaxations, long barriers, int threads) {
+            this.cost = cost;
+            this.path = path;
+            this.relaxations = relaxations;
+            this.barriers = barriers;
+            this.threads = threads;
+        }
+
+        /** Lowest total cost, or -1 if '!' cannot be reached. */
+        public int getCost() { return cost; }
+
+        /** Route as cell indices (row * cols + col) from '#' to '!'; empty if none. */
+        public int[] getPath() { return path; }
+
+        /** Successful dist[] improvements (work done). */
+        public long getRelaxations() { return relaxations; }
+
+        /** Phases handed to the thread pool (each ends in a barrier); 0 with one thread. */
+        public long getBarriers() { return barriers; }
+
+        /** Threads used. */
+        public int getThreads() { return threads; }
+    }
+
+    /** Solve with DEFAULT_DELTA. */
+    public static result solve(finderMap fm, int threads) {
+        return solve(fm, threads, DEFAULT_DELTA);
+    }
+
+    /**
+     * Lowest-cost route from '#' to '!' using delta-stepping on `threads` threads
+     * (threads < 1 means one per available processor). The route is numbered into fm's steps.
+     *
+     * @param fm
+     * @param threads
+     * @param delta bucket width in cost units (>= 1)
+     * @return cost, path and work counters
+     */
+    public static result solve(finderMap fm, int threads, int delta) {
+        return solve(fm, threads, delta, INLINE_PER_THREAD);
+    }
+
+    // inlinePerThread 0 sends every phase to the pool (TestOptimality uses it on small maps)
+    static result solve(finderMap fm, int threads, int delta, int inlinePerThread) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("delta must be >= 1.");
+        }
+        if (threads < 1) threads = Runtime.getRuntime().availableProcessors();
+
+        int[] s = fm.getStartOrEnd('s');
+        int[] e = fm.getStartOrEnd('e');
+        run state = new run(fm, threads, delta, inlinePerThread);
+        long relax = state.execute(s[0] * fm.getCols() + s[1]);
+
+        int end = e[0] * fm.getCols() + e[1];
+        int[] path = readPath(fm, state.dist, s[0] * fm.getCols() + s[1], end);
+        int cost = (path.length == 0) ? -1 : (int) (state.dist[end] / state.k);
+
+        fm.applyPath(path);
+        return new result(cost, path, relax, state.barriers, threads);
+    }
+
+    // ===== One solve =====
+
+    private static final class run {
+        final int rows, cols;
+        final long k;      // key multiplier = rows * cols
+        final long width;  // bucket width in key units = delta * k
+        final int ring;    // number of bucket slots
+        final int threads;
+        final long inlineBelow; // frontier size under which the coordinator relaxes it alone
+        final int[][] cost;
+        final long[] dist;
+        long barriers = 0;
+
+        // buckets[t][slot] = cells thread t pushed into that bucket slot
+        final intList[][] buckets;
+        final long[] relaxed;
+
+        // Current phase (written by the coordinator between phases)
+        int[] frontier = new int[1024];
+        int frontierSize;
+        long current;
+
+        run(finderMap fm, int threads, int delta, int inlinePerThread) {
+            this.rows = fm.getRows();
+            this.cols = fm.getCols();
+            this.k = (long) rows * cols;
+            this.width = delta * k;
+            this.ring = 16 / delta + 3;
+            this.threads = threads;
+            this.inlineBelow = (long) threads * inlinePerThread;
+            this.cost = fm.costRows();
+            this.dist = new long[rows * cols];
+            this.buckets = new intList[threads][ring];
+            for (int t = 0; t < threads; t++) {
+                for (int b = 0; b < ring; b++) buckets[t][b] = new intList();
+            }
+            this.relaxed = new long[threads];
+        }
+
+        long execute(int source) {
+            java.util.Arrays.fill(dist, INF);
+            if (cost[source / cols][source % cols] < 0) return 0;
+            dist[source] = 0;
+            buckets[0][0].add(source);
+            current = 0;
+
+            ForkJoinPool pool = (threads > 1) ? new ForkJoinPool(threads) : null;
+            try {
+                List<Callable<Void>> tasks = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    final int id = t;
+                    tasks.add(() -> { relaxSlice(id, slice(id), slice(id + 1)); return null; });
+                }
+
+                while (true) {
+                    // Move everything queued for the current bucket into the shared frontier
+                    int slot = (int) (current % ring);
+                    frontierSize = 0;
+                    for (int t = 0; t < threads; t++) {
+                        intList l = buckets[t][slot];
+                        if (frontierSize + l.size > frontier.length) {
+                            frontier = java.util.Arrays.copyOf(frontier, Math.max(frontier.length * 2, frontierSize + l.size));
+                        }
+                        System.arraycopy(l.a, 0, frontier, frontierSize, l.size);
+                        frontierSize += l.size;
+                        l.size = 0;
+                    }
+
+                    if (frontierSize == 0) {
+                        // Bucket settled: move on to the next non-empty one, or stop
+                        if (!advance()) break;
+                        continue;
+                    }
+
+                    if (pool == null || frontierSize < inlineBelow) {
+                        relaxSlice(0, 0, frontierSize);
+                    } else {
+                        pool.invokeAll(tasks);
+                        barriers++;
+                    }
+                }
+            } finally {
+                if (pool != null) pool.shutdown();
+            }
+
+            long total = 0;
+            for (long r : relaxed) total += r;
+            return total;
+        }
+
+        private boolean advance() {
+            for (int i = 1; i < ring; i++) {
+                int slot = (int) ((current + i) % ring);
+                for (int t = 0; t < threads; t++) {
+                    if (buckets[t][slot].size > 0) {
+                        current += i;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Start of thread t's contiguous share of the frontier
+        private int slice(int t) {
+            return (int) ((long) frontierSize * t / threads);
+        }
+
+        // Relax frontier[from, to) as thread t, pushing into t's own bucket lists
+        private void relaxSlice(int t, int from, int to) {
+            intList[] mine = buckets[t];
+            long count = 0;
+
+            for (int i = from; i < to; i++) {
+                int v = frontier[i];
+                long d = (long) DIST.getVolatile(dist, v);
+                if (d / width != current) continue; // stale: improved into another bucket
+
+                int r = v / cols, c = v % cols;
+                for (int dir = 0; dir < 4; dir++) {
+                    int nr = r + finderMap.dr(dir), nc = c + finderMap.dc(dir);
+                    if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                    int w = cost[nr][nc];
+                    if (w < 0) continue;
+
+                    int u = nr * cols + nc;
+                    long nd = d + w * k + 1;
+                    long old = (long) DIST.getVolatile(dist, u);
+                    while (nd < old) {
+                        if (DIST.compareAndSet(dist, u, old, nd)) {
+                            mine[(int) ((nd / width) % ring)].add(u);
+                            count++;
+                            break;
+                        }
+                        old = (long) DIST.getVolatile(dist, u);
+                    }
+                }
+            }
+            relaxed[t] += count;
+        }
+    }
+
+    /**
+     * Walk back from end to start through the neighbour whose key is exactly one step smaller.
+     * Returns the route start..end as cell indices, or an empty array if end was not reached.
+     */
+    static int[] readPath(finderMap fm, long[] dist, int start, int end) {
+        if (dist[end] == INF) return new int[0];
+        int cols = fm.getCols(), rows = fm.getRows();
+        int[][] cost = fm.costRows();
+        long k = (long) rows * cols;
+
+        int hops = (int) (dist[end] % k);
+        int[] path = new int[hops + 1];
+        int cur = end;
+        for (int i = hops; i > 0; i--) {
+            path[i] = cur;
+            int r = cur / cols, c = cur % cols;
+            long want = dist[cur] - (cost[r][c] * k + 1);
+            for (int dir = 0; dir < 4; dir++) {
+                int nr = r + finderMap.dr(dir), nc = c + finderMap.dc(dir);
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                if (dist[nr * cols + nc] == want) { cur = nr * cols + nc; break; }
+            }
+        }
+        path[0] = start;
+        return path;
+    }
+
+    // Growable int list (no boxing)
+    private static final class intList {
+        int[] a = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == a.length) a = java.util.Arrays.copyOf(a, size * 2);
+            a[size++] = v;
+        }
+    }
+
+    /**
+     * Benchmark: java deltaStepping <side> <threads...>
+     * Builds a side x side random map (about 20% walls, # top-left, ! bottom-right, top row
+     * and right column kept open so a route always exists) and times one solve per thread
+     * count, checking that every run gives the same cost and path.
+     */
+    public static void main(String[] args) {
+        int side = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int[] counts = {1, 2, 4, Runtime.getRuntime().availableProcessors()};
+        if (args.length > 1) {
+            counts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) counts[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        Random rnd = new Random(42);
+        StringBuilder sb = new StringBuilder(side * (side + 1));
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                if (r == 0 && c == 0) sb.append('#');
+                else if (r == side - 1 && c == side - 1) sb.append('!');
+                else if (r != 0 && c != side - 1 && rnd.nextInt(5) == 0) sb.append('x');
+                else sb.append("0123456789ABCDEF".charAt(rnd.nextInt(16)));
+            }
+            sb.append('\n');
+        }
+        finderMap fm = new finderMap(sb.toString(), 0);
+        System.out.println("Map " + side + " x " + side + ", " + Runtime.getRuntime().availableProcessors() + " processor(s)");
+
+        int[] firstPath = null;
+        int firstCost = 0;
+        boolean ok = true;
+        for (int t : counts) {
+            long t0 = System.nanoTime();
+            result r = solve(fm, t);
+            long ms = (System.nanoTime() - t0) / 1_000_000;
+            System.out.println(t + " thread(s): cost = " + r.getCost() + ", steps = " + r.getPath().length
+                + ", relaxations = " + r.getRelaxations() + ", barriers = " + r.getBarriers() + ", " + ms + " ms");
+            if (firstPath == null) {
+                firstPath = r.getPath();
+                firstCost = r.getCost();
+            } else if (firstCost != r.getCost() || !java.util.Arrays.equals(firstPath, r.getPath())) {
+                System.out.println("  MISMATCH with the first run!");
+                ok = false;
+            }
+        }
+        if (!ok) System.exit(1);
+    }
+}
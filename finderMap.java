@@ -18,8 +18,8 @@
  *   xxxxxxx
  *
  * Legend:
- *   # = start         (walkable, cost 0)
- *   ! = end           (walkable, cost 0)
+ *   # = start         (walkable, cost 0; a map may have several)
+ *   ! = end           (walkable, cost 0; a map may have several)
  *   x or X = blocked  (unvisitable, cost -1)
  *   0..9, A..F = walkable with cost (hex) 0..15
  *
@@ -47,9 +47,25 @@ public class finderMap {
     private final int[][] cost;  // -1 = blocked; else 0..15
     private final int[][] step;  // 0 = not visited; else visit order number
 
+    // Generation stamps for step[][]: a mark only counts if stampGrid[r][c] == epoch.
+    // clearAllVisited() just bumps epoch, so old marks read as 0 without touching the grid.
+    private final int[][] stampGrid;
+    private int epoch = 1;
+
+    // Cost-to-go field from '!', built on first use (costs never change after parsing)
+    private costField field;
+
     private final int rows;
     private final int cols;
 
+    // First '#' and first '!' in row-major order, as row * cols + col (-1 if missing)
+    private final int startCell;
+    private final int endCell;
+
+    // Every '#' and every '!' in row-major order (row * cols + col)
+    private final int[] startCells;
+    private final int[] endCells;
+
     /**
      * constructor(String mapString)
      *
@@ -71,6 +87,23 @@ public class finderMap {
      *   - invalid symbol (anything not x/X/#/!/0..9/A..F)
      */
     public finderMap(String mapString) {
+        this(mapString, 1);
+    }
+
+    /**
+     * constructor(String mapString, int threads)
+     *
+     * Same parsing and the same errors as finderMap(String), but for large maps the rows are
+     * split into contiguous ranges and decoded on up to `threads` threads (threads < 1 means
+     * one per available processor, and more than that are never used). Small maps are always
+     * decoded on the calling thread.
+     *
+     * Each range remembers its own first bad cell and first '#' / '!'; the ranges are then
+     * merged in row order, so the reported error and the start/end are exactly the ones the
+     * single-threaded row-major scan would find. Anything a worker throws (e.g. an
+     * OutOfMemoryError) is rethrown here once all workers have finished.
+     */
+    public finderMap(String mapString, int threads) {
         if (mapString == null) {
             throw new IllegalArgumentException("Map string cannot be null.");
         }
@@ -107,33 +140,252 @@ public class finderMap {
 
         this.map  = new char[rows][cols];
         this.cost = new int[rows][cols];
+        this.step = new int[rows][cols]; // all 0 = unvisited
+        this.stampGrid = new int[rows][cols];
+
+        // Decide how many row ranges to decode
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (threads < 1 || threads > cores) threads = cores; // extra threads only add start-up cost
+        if ((long) rows * cols < PARALLEL_MIN_CELLS) threads = 1;
+        int parts = Math.min(threads, rows);
+
+        rowRange[] ranges = new rowRange[parts];
+        for (int i = 0; i < parts; i++) {
+            ranges[i] = new rowRange(lines, (int) ((long) rows * i / parts), (int) ((long) rows * (i + 1) / parts));
+        }
+
+        // Range 0 runs here; the rest on worker threads
+        Thread[] workers = new Thread[parts];
+        for (int i = 1; i < parts; i++) {
+            workers[i] = new Thread(ranges[i], "finderMap-parse-" + i);
+            workers[i].start();
+        }
+        ranges[0].run();
+        for (int i = 1; i < parts; i++) {
+            try {
+                workers[i].join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while parsing map.", ex);
+            }
+        }
+
+        // A range that died part-way leaves rows undecoded: fail rather than return them
+        for (rowRange rr : ranges) {
+            if (rr.failure instanceof RuntimeException) throw (RuntimeException) rr.failure;
+            if (rr.failure instanceof Error) throw (Error) rr.failure;
+            if (rr.failure != null) throw new IllegalStateException("Map parsing failed.", rr.failure);
+        }
+
+        // Merge in row order: first bad cell, then every '#' and '!'
+        int nStarts = 0, nEnds = 0;
+        for (rowRange rr : ranges) {
+            if (rr.badCell >= 0) {
+                int r = rr.badCell / cols, c = rr.badCell % cols;
+                throw new IllegalArgumentException(
+                    "Invalid map symbol '" + map[r][c] + "' at (" + r + "," + c + ")"
+                );
+            }
+            nStarts += rr.startCount;
+            nEnds += rr.endCount;
+        }
+        this.startCells = new int[nStarts];
+        this.endCells = new int[nEnds];
+        nStarts = 0;
+        nEnds = 0;
+        for (rowRange rr : ranges) {
+            System.arraycopy(rr.starts, 0, startCells, nStarts, rr.startCount);
+            System.arraycopy(rr.ends, 0, endCells, nEnds, rr.endCount);
+            nStarts += rr.startCount;
+            nEnds += rr.endCount;
+        }
+        this.startCell = (startCells.length > 0) ? startCells[0] : -1;
+        this.endCell = (endCells.length > 0) ? endCells[0] : -1;
+    }
+
+    // Below this many cells the thread start-up costs more than it saves
+    private static final int PARALLEL_MIN_CELLS = 1 << 18;
+
+    // Decode table for ASCII symbols: 0..15 hex cost, or one of the codes below
+    private static final byte SYM_BLOCKED = -1;
+    private static final byte SYM_INVALID = -2;
+    private static final byte SYM_START   = 16;
+    private static final byte SYM_END     = 17;
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DECODE, SYM_INVALID);
+        for (char ch = 0; ch < 128; ch++) {
+            int v = hexValue(ch); // same rule as before: 0..9, A..F, a..f
+            if (v >= 0) DECODE[ch] = (byte) v;
+        }
+        DECODE['x'] = SYM_BLOCKED;
+        DECODE['X'] = SYM_BLOCKED;
+        DECODE['#'] = SYM_START;
+        DECODE['!'] = SYM_END;
+    }
+
+    /**
+     * Decodes rows [from, to) into map/cost. Stops at the first invalid symbol and records it
+     * (as a cell index) instead of throwing, so the constructor can report errors in row order.
+     * Anything thrown while decoding is kept in `failure` for the constructor to rethrow; on a
+     * worker thread it would otherwise only reach the uncaught-exception handler.
+     */
+    private final class rowRange implements Runnable {
+        private final String[] lines;
+        private final int from;
+        private final int to;
+        int badCell = -1;
+        int[] starts = new int[4];
+        int[] ends = new int[4];
+        int startCount = 0;
+        int endCount = 0;
+        Throwable failure;
+
+        rowRange(String[] lines, int from, int to) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            try {
+                decode();
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        private void decode() {
+            for (int r = from; r < to; r++) {
+                char[] rowChars = map[r];
+                int[] rowCost = cost[r];
+                lines[r].getChars(0, cols, rowChars, 0);
+
+                for (int c = 0; c < cols; c++) {
+                    char ch = rowChars[c];
+                    int v = (ch < 128) ? DECODE[ch] : SYM_INVALID;
+                    if (v >= 0 && v <= 15) {
+                        rowCost[c] = v;          // hex cost
+                    } else if (v == SYM_BLOCKED) {
+                        rowCost[c] = -1;         // blocked
+                    } else if (v == SYM_START) {
+                        rowCost[c] = 0;          // start
+                        if (startCount == starts.length) starts = java.util.Arrays.copyOf(starts, startCount * 2);
+                        starts[startCount++] = r * cols + c;
+                    } else if (v == SYM_END) {
+                        rowCost[c] = 0;          // end
+                        if (endCount == ends.length) ends = java.util.Arrays.copyOf(ends, endCount * 2);
+                        ends[endCount++] = r * cols + c;
+                    } else {
+                        badCell = r * cols + c;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy used by pruned(): same symbols and size, its own cost grid and a fresh step grid.
+     */
+    private finderMap(finderMap src, int[][] cost) {
+        this.rows = src.rows;
+        this.cols = src.cols;
+        this.map  = src.map;  // raw symbols are never written after parsing
+        this.cost = cost;
         this.step = new int[rows][cols];
+        this.stampGrid = new int[rows][cols];
+        this.startCell = src.startCell;
+        this.endCell = src.endCell;
+        this.startCells = src.startCells;
+        this.endCells = src.endCells;
+    }
+
+    // ===== Dead-end pruning =====
 
-        // Parse characters into cost grid and copy raw map.
+    /**
+     * Returns a pruned view of this map for solvers that want to skip cul-de-sacs.
+     *
+     *   - Cells outside every region that holds both a '#' and a '!' are sealed (cost -1).
+     *   - Then, repeatedly, every walkable cell that is not '#' or '!' and has at most one
+     *     walkable neighbour is sealed (a dead end can never be inside a simple # -> ! path).
+     *
+     * The view has the same size, symbols and coordinates, so step numbers and costs found on
+     * it are the same as on the original map; renderCosts() still shows the original layout.
+     * This map is not modified.
+     */
+    public finderMap pruned() {
+        int[][] pc = new int[rows][];
+        for (int r = 0; r < rows; r++) pc[r] = cost[r].clone();
+
+        // Regions reachable from some '#' that also contain a '!'
+        java.util.BitSet keep = new java.util.BitSet(rows * cols);
+        java.util.BitSet seen = new java.util.BitSet(rows * cols);
+        for (int sc : startCells) {
+            if (seen.get(sc)) continue; // same region as an earlier '#'
+            floodfill.region reach = floodfill.reachable(this, sc / cols, sc % cols);
+            seen.or(reach.getCells());
+            if (reach.reachesEnd()) keep.or(reach.getCells());
+        }
+
+        // Drop everything that cannot reach both endpoints
         for (int r = 0; r < rows; r++) {
-            char[] rowChars = lines[r].toCharArray();
-            System.arraycopy(rowChars, 0, this.map[r], 0, cols);
+            for (int c = 0; c < cols; c++) {
+                if (pc[r][c] < 0 || isMarker(r, c)) continue;
+                if (!keep.get(r * cols + c)) pc[r][c] = -1;
+            }
+        }
 
+        // Walkable-neighbour counts, then peel cells whose count is <= 1
+        int[] degree = new int[rows * cols];
+        int[] queue = new int[rows * cols];
+        int head = 0, tail = 0;
+        for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                char ch = rowChars[c];
-                if (ch == 'x' || ch == 'X') {
-                    cost[r][c] = -1; // blocked
-                } else if (ch == '#') {
-                    cost[r][c] = 0;  // start
-                } else if (ch == '!') {
-                    cost[r][c] = 0;  // end
-                } else {
-                    int v = hexValue(ch); // A..F or 0..9 => 0..15
-                    if (v < 0 || v > 15) {
-                        throw new IllegalArgumentException(
-                            "Invalid map symbol '" + ch + "' at (" + r + "," + c + ")"
-                        );
-                    }
-                    cost[r][c] = v;
-                }
-                step[r][c] = 0; // mens unvisited
+                if (pc[r][c] < 0) continue;
+                int d = 0;
+                if (r > 0        && pc[r - 1][c] >= 0) d++;
+                if (r < rows - 1 && pc[r + 1][c] >= 0) d++;
+                if (c > 0        && pc[r][c - 1] >= 0) d++;
+                if (c < cols - 1 && pc[r][c + 1] >= 0) d++;
+                degree[r * cols + c] = d;
+                if (d <= 1 && !isMarker(r, c)) queue[tail++] = r * cols + c;
             }
         }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            int r = cell / cols, c = cell % cols;
+            pc[r][c] = -1;
+
+            for (int k = 0; k < 4; k++) {
+                int nr = r + (k == 0 ? -1 : k == 1 ? 1 : 0);
+                int nc = c + (k == 2 ? -1 : k == 3 ? 1 : 0);
+                if (!inBounds(nr, nc) || pc[nr][nc] < 0) continue;
+                int n = nr * cols + nc;
+                // Push exactly once: when the count first drops to 1
+                if (--degree[n] == 1 && !isMarker(nr, nc)) queue[tail++] = n;
+            }
+        }
+
+        return new finderMap(this, pc);
+    }
+
+    /** Number of walkable cells (cost >= 0). Useful to compare a map with its pruned() view. */
+    public int countWalkable() {
+        int n = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cost[r][c] >= 0) n++;
+            }
+        }
+        return n;
+    }
+
+    private boolean isMarker(int r, int c) {
+        return map[r][c] == '#' || map[r][c] == '!';
     }
 
     /**
@@ -143,29 +395,57 @@ public class finderMap {
      * Returns {row, col}. If not found, returns {0, 0}.
      */
     public int[] getStartOrEnd(char c) {
-        int[] position = {0, 0};
-        for (int i = 0; i < map.length; ++i) {
-            for (int j = 0; j < map[i].length; ++j) {
-                if (c == 's') {
-                    if (map[i][j] == '#') {
-                        position[0] = i;
-                        position[1] = j;
-                        return position;
-                    }
-                } else if (c == 'e') {
-                    if (map[i][j] == '!') {
-                        position[0] = i;
-                        position[1] = j;
-                        return position;
-                    }
-                }
-            }
-        }
-        return position;
+        int cell = (c == 's') ? startCell : (c == 'e') ? endCell : -1;
+        if (cell < 0) return new int[] {0, 0};
+        return new int[] {cell / cols, cell % cols};
+    }
+
+    /** First '#' as row * cols + col, or -1 if the map has none (no array allocated). */
+    public int getStartCell() {
+        return startCell;
+    }
+
+    /** First '!' as row * cols + col, or -1 if the map has none (no array allocated). */
+    public int getEndCell() {
+        return endCell;
+    }
+
+    /** Every '#' in row-major order, as row * cols + col (a copy; empty if none). */
+    public int[] getStartCells() {
+        return startCells.clone();
+    }
+
+    /** Every '!' in row-major order, as row * cols + col (a copy; empty if none). */
+    public int[] getEndCells() {
+        return endCells.clone();
     }
 
     // ===== Goal 3 API =====
 
+    /** Number of rows in the map. */
+    public int getRows() {
+        return rows;
+    }
+
+    /** Number of columns in the map. */
+    public int getCols() {
+        return cols;
+    }
+
+    /** Raw symbol at (row,col) as it appeared in the file (x/X/#/!/hex). */
+    public char getSymbol(int row, int col) {
+        checkBounds(row, col);
+        return map[row][col];
+    }
+
+    /**
+     * Direct access to the cost grid for the bulk solvers (deltaStepping and friends) that
+     * read every cell many times. Package-private and read-only by agreement: do not write.
+     */
+    int[][] costRows() {
+        return cost;
+    }
+
     /** Returns true if (row,col) is walkable (i.e., cost >= 0). */
     public boolean getPath(int row, int col) {
         if (!inBounds(row, col)) return false;
@@ -181,7 +461,7 @@ public class finderMap {
     /** Visit order number at (row,col); 0 means not visited. */
     public int getVisited(int row, int col) {
         checkBounds(row, col);
-        return step[row][col];
+        return stepAt(row, col);
     }
 
     /**
@@ -192,6 +472,7 @@ public class finderMap {
         checkBounds(row, col);
         if (cost[row][col] < 0) return false; // cannot visit blocked
         step[row][col] = visitNum;
+        stampGrid[row][col] = epoch;
         return true;
     }
 
@@ -201,13 +482,77 @@ public class finderMap {
         step[row][col] = 0;
     }
 
-    /** Clear all visit marks. */
+    /**
+     * Clear all visit marks.
+     * O(1): starts a new epoch so every earlier mark reads as 0. Only when the epoch counter
+     * would wrap (after about two billion clears) are the stamps actually wiped.
+     */
     public void clearAllVisited() {
+        if (epoch == Integer.MAX_VALUE) {
+            for (int r = 0; r < rows; r++) {
+                java.util.Arrays.fill(stampGrid[r], 0);
+            }
+            epoch = 0;
+        }
+        epoch++;
+    }
+
+    // Visible step number: stale (older epoch) marks count as unvisited
+    private int stepAt(int r, int c) {
+        return (stampGrid[r][c] == epoch) ? step[r][c] : 0;
+    }
+
+    /**
+     * Lowest cost from every cell to the nearest '!' plus next-hop directions (see costField).
+     * Built on the first call and reused afterwards.
+     */
+    public synchronized costField getCostField() {
+        if (field == null) field = costField.of(this);
+        return field;
+    }
+
+    // ===== Compact paths =====
+
+    /**
+     * The current numbered path as cell indices (row * cols + col) in step order.
+     * Index i holds the cell marked with step i + 1; cells are only included while the
+     * steps 1, 2, 3, ... are consecutive. Returns an empty array if nothing is marked.
+     */
+    public int[] getPathCells() {
+        int max = 0;
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                step[r][c] = 0;
+                int k = stepAt(r, c);
+                if (k > max) max = k;
             }
         }
+        int[] cells = new int[max];
+        java.util.Arrays.fill(cells, -1);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int k = stepAt(r, c);
+                if (k > 0) cells[k - 1] = r * cols + c;
+            }
+        }
+        int n = 0;
+        while (n < max && cells[n] >= 0) n++;
+        return (n == max) ? cells : java.util.Arrays.copyOf(cells, n);
+    }
+
+    /**
+     * Clear all marks, then number the given cells 1, 2, 3, ... in order.
+     * Inverse of getPathCells().
+     */
+    public void applyPath(int[] cells) {
+        applyPath(cells, cells.length);
+    }
+
+    /** Same as applyPath(cells), using only the first length entries (for reused buffers). */
+    public void applyPath(int[] cells, int length) {
+        clearAllVisited();
+        for (int i = 0; i < length; i++) {
+            setVisited(cells[i] / cols, cells[i] % cols, i + 1);
+        }
     }
 
     // ===== Renderers =====
@@ -235,7 +580,7 @@ public class finderMap {
                 if (cost[r][c] < 0) {
                     sb.append(" xx");
                 } else {
-                    int k = step[r][c];
+                    int k = stepAt(r, c);
                     if (k == 0) sb.append("  .");
                     else sb.append(String.format("%3d", k));
                 }
@@ -254,6 +599,22 @@ public class finderMap {
 
     // ===== Bounds + utilities =====
 
+    // Neighbour order shared by the solvers: up, right, down, left. Their tie-breaks depend on
+    // it (backtrack's FIXED order, costField next hops, deltaStepping read-back), so it is
+    // defined only here and handed out one entry at a time, never as a writable array.
+    private static final int[] DR = {-1, 0, 1, 0};
+    private static final int[] DC = { 0, 1, 0,-1};
+
+    /** Row step of neighbour direction d (0 up, 1 right, 2 down, 3 left). */
+    static int dr(int d) {
+        return DR[d];
+    }
+
+    /** Column step of neighbour direction d (0 up, 1 right, 2 down, 3 left). */
+    static int dc(int d) {
+        return DC[d];
+    }
+
     private boolean inBounds(int r, int c) {
         return r >= 0 && r < rows && c >= 0 && c < cols;
     }
@@ -1,6 +1,7 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.BitSet;
 
 /*
  Project B — Goal Set #2: Floodfill
@@ -8,58 +9,147 @@ import java.nio.file.Path;
 
  Purpose:
    - Load a weighted maze from file.
-   - Use the flood fill algorithm to solve a maze (assuming it is solvable).
+   - Use the flood fill algorithm to find every cell reachable from the start,
+     and whether the end (!) is one of them.
+
+ Notes:
+   - The fill is iterative (scanline spans + an int work stack), so large open
+     regions do not overflow the call stack.
+   - No console output and no System.exit inside the fill; reachable(...) only
+     returns a region, so the solvers can call it as a cheap "is it solvable?" check.
+   - Cells are stored in a BitSet by index (row * cols + col).
 */
 
 public class floodfill {
     /**
      * Initiates the flood fill algorithm.
-     * 
-     * @param args
+     *
+     * @param args optional data file path (defaults to datafile.txt)
      * @throws IOException
      */
     public static void main(String[] args) throws IOException {
-        String contents = Files.readString(Path.of("datafile.txt"));
+        String file = (args.length > 0) ? args[0] : "datafile.txt";
+        String contents = Files.readString(Path.of(file));
         finderMap fm = new finderMap(contents);
 
         System.out.println("=== Loaded Map ===");
-        System.out.println(fm.getString());
+        System.out.println(fm.renderCosts());
 
-        String[] lines = contents.split("\n", -1);
+        int[] s = fm.getStartOrEnd('s');
+        region reach = reachable(fm, s[0], s[1]);
 
-        floodfill_dfs(fm, fm.getStartOrEnd('s')[0], fm.getStartOrEnd('s')[1]);
+        System.out.println("\nReachable cells from # = " + reach.size());
+        System.out.println(reach.reachesEnd() ? "! is reachable." : "! is NOT reachable (check map).");
     }
 
     /**
-     * Uses the flood fill algorithm to solve the maze.
-     * Recurses through every adjacent position from the start until the end point is reached.
-     * 
-     * @param fm
-     * @param x
-     * @param y
+     * Result of a flood fill: the set of reachable cells and whether '!' is among them.
      */
-    public static void floodfill_dfs(finderMap fm, int x, int y) {
-        System.out.println("Current position: " + x + "," + y);
-        if(fm.getVisited(x, y)) return;
-        if((x == fm.getStartOrEnd('e')[0] && y == fm.getStartOrEnd('e')[1])) {
-            // Terminates program when floodfill finds the exit
-            System.out.println("=== Completed Map ===");
-            System.out.println(fm.getString());
-            System.exit(0);
+    public static class region {
+        private final BitSet cells;
+        private final int cols;
+        private final boolean reachesEnd;
+
+        region(BitSet cells, int cols, boolean reachesEnd) {
+            this.cells = cells;
+            this.cols = cols;
+            this.reachesEnd = reachesEnd;
         }
-        fm.setVisited(x, y);
 
-        if(fm.getPath(x+1, y)) {
-            floodfill_dfs(fm, x+1, y);
+        /** Reachable cells, indexed by row * cols + col. */
+        public BitSet getCells() {
+            return cells;
         }
-        if(fm.getPath(x-1, y)) {
-            floodfill_dfs(fm, x-1, y);
+
+        /** True if (row,col) is in the region. */
+        public boolean contains(int row, int col) {
+            return col >= 0 && col < cols && row >= 0 && cells.get(row * cols + col);
         }
-        if(fm.getPath(x, y+1)) {
-            floodfill_dfs(fm, x, y+1);
+
+        /** Number of reachable cells. */
+        public int size() {
+            return cells.cardinality();
+        }
+
+        /** True if an end marker '!' is in the region. */
+        public boolean reachesEnd() {
+            return reachesEnd;
         }
-        if(fm.getPath(x, y-1)) {
-            floodfill_dfs(fm, x, y-1);
+    }
+
+    /**
+     * Scanline flood fill from (row,col).
+     * Pops a seed, extends it left/right into a span, marks the span, then pushes one seed
+     * per run of open cells in the rows above and below the span.
+     * A blocked or out-of-bounds seed gives an empty region.
+     *
+     * @param fm
+     * @param row
+     * @param col
+     * @return the reachable region
+     */
+    public static region reachable(finderMap fm, int row, int col) {
+        int rows = fm.getRows();
+        int cols = fm.getCols();
+        BitSet seen = new BitSet(rows * cols);
+        boolean reachesEnd = false;
+
+        if (!fm.getPath(row, col)) {
+            return new region(seen, cols, false);
         }
+
+        // Work stack of seed cell indices (grows if needed)
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = row * cols + col;
+
+        while (top > 0) {
+            int cell = stack[--top];
+            if (seen.get(cell)) continue;
+            int r = cell / cols;
+            int c = cell % cols;
+
+            // Extend the span left and right through open, unseen cells
+            int lo = c;
+            while (lo > 0 && fm.getPath(r, lo - 1) && !seen.get(cell - (c - lo) - 1)) lo--;
+            int hi = c;
+            while (hi < cols - 1 && fm.getPath(r, hi + 1) && !seen.get(cell + (hi - c) + 1)) hi++;
+
+            int base = r * cols;
+            seen.set(base + lo, base + hi + 1);
+            if (!reachesEnd) {
+                for (int k = lo; k <= hi; k++) {
+                    if (fm.getSymbol(r, k) == '!') { reachesEnd = true; break; }
+                }
+            }
+
+            // Seed the neighbouring rows: one push per run of open, unseen cells
+            for (int nr = r - 1; nr <= r + 1; nr += 2) {
+                if (nr < 0 || nr >= rows) continue;
+                int nbase = nr * cols;
+                boolean inRun = false;
+                for (int k = lo; k <= hi; k++) {
+                    boolean open = fm.getPath(nr, k) && !seen.get(nbase + k);
+                    if (open && !inRun) {
+                        if (top == stack.length) stack = java.util.Arrays.copyOf(stack, top * 2);
+                        stack[top++] = nbase + k;
+                    }
+                    inRun = open;
+                }
+            }
+        }
+
+        return new region(seen, cols, reachesEnd);
+    }
+
+    /**
+     * Quick pre-check for the solvers: true if '!' can be reached from '#'.
+     *
+     * @param fm
+     * @return
+     */
+    public static boolean isSolvable(finderMap fm) {
+        int[] s = fm.getStartOrEnd('s');
+        return reachable(fm, s[0], s[1]).reachesEnd();
     }
 }
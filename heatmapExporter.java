@@ -0,0 +1,254 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/*
+ Project B — Headless PNG export of maps, heatmaps and solved paths
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - Pictures of very large maps from batch runs, where neither renderSteps() nor the
+     TestGoal5 Label grid is usable.
+   - No display, no AWT, no JavaFX: the PNG is written by hand.
+     Pixels are produced one map row at a time into a single reused row buffer and streamed
+     through a Deflater into IDAT chunks, so memory stays bounded (about one image row) even
+     for 10k x 10k maps.
+   - Indexed colour (one palette byte per pixel) rather than RGB: every colour below fits in
+     a 256-entry palette, and deflate, which is most of the run time, gets a third of the bytes.
+
+ Colours:
+   - walls               dark grey  (#222222)
+   - cost 0..15          light grey -> dark red
+   - heat mode           distance to the nearest '!' (costField), green -> yellow -> red;
+                         cells that cannot reach '!' are mid grey
+   - numbered path       amber      (#fde68a, same as the GUI steps view)
+   - '#' / '!'           blue / green (#0e3a8a / #065f46, same as the GUI)
+
+ Usage:
+   java heatmapExporter map.txt out.png [pixelsPerCell] [--heat] [--solve]
+     --heat   colour by cost-to-go instead of cell cost
+     --solve  run the lowest-cost solver (deltaStepping) first and draw its path
+*/
+
+public class heatmapExporter {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int IDAT_CHUNK = 1 << 16;
+
+    // Palette layout: 0..15 cell costs, then the fixed colours, then the heat gradient
+    private static final int WALL    = 16;
+    private static final int PATH    = 17;
+    private static final int START   = 18;
+    private static final int END     = 19;
+    private static final int CUT_OFF = 20;
+    private static final int HEAT    = 21;
+    private static final int HEAT_LEVELS = 256 - HEAT;
+
+    private static final int[] PALETTE = new int[256];
+
+    static {
+        for (int i = 0; i < 16; i++) {
+            PALETTE[i] = mix(0xf3f4f6, 0xb91c1c, i / 15.0);   // light grey -> dark red
+        }
+        PALETTE[WALL]    = 0x222222;
+        PALETTE[PATH]    = 0xfde68a;
+        PALETTE[START]   = 0x0e3a8a;
+        PALETTE[END]     = 0x065f46;
+        PALETTE[CUT_OFF] = 0x9ca3af;
+        for (int i = 0; i < HEAT_LEVELS; i++) {
+            double t = (double) i / (HEAT_LEVELS - 1);     // green -> yellow -> red
+            PALETTE[HEAT + i] = (t < 0.5) ? mix(0x22c55e, 0xeab308, t * 2) : mix(0xeab308, 0xdc2626, (t - 0.5) * 2);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java heatmapExporter map.txt out.png [pixelsPerCell] [--heat] [--solve]");
+            return;
+        }
+        int scale = 1;
+        boolean heat = false, solve = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--heat")) heat = true;
+            else if (args[i].equals("--solve")) solve = true;
+            else scale = Integer.parseInt(args[i]);
+        }
+
+        long t0 = System.nanoTime();
+        finderMap fm = new finderMap(Files.readString(Path.of(args[0])), 0);
+        if (solve) {
+            int cost = deltaStepping.solve(fm, 0).getCost();
+            System.out.println(cost >= 0 ? "Total cost = " + cost : "No path found from # to ! (check map).");
+        }
+        export(fm, Path.of(args[1]), scale, heat);
+        System.out.println("Wrote " + args[1] + " (" + fm.getCols() * scale + " x " + fm.getRows() * scale
+            + ") in " + (System.nanoTime() - t0) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Write fm as a PNG.
+     *
+     * @param fm map (its step grid supplies the path to highlight)
+     * @param out file to write
+     * @param scale pixels per cell side (>= 1)
+     * @param heat colour by cost-to-go (costField) instead of cell cost
+     */
+    public static void export(finderMap fm, Path out, int scale, boolean heat) throws IOException {
+        checkSize(fm, scale); // before the file is created
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(out), 1 << 16)) {
+            write(fm, os, scale, heat);
+        }
+    }
+
+    /** Same as export(...), to any stream (the stream is not closed). */
+    public static void write(finderMap fm, OutputStream os, int scale, boolean heat) throws IOException {
+        checkSize(fm, scale);
+        int rows = fm.getRows(), cols = fm.getCols();
+        int width = cols * scale, height = rows * scale;
+        int[][] cost = fm.costRows();
+        costField field = heat ? fm.getCostField() : null;
+        int heatMax = heat ? Math.max(1, field.getMaxCost()) : 1;
+
+        os.write(PNG_SIGNATURE);
+
+        // IHDR: width, height, bit depth 8, colour type 3 (palette), deflate, filter 0, no interlace
+        byte[] ihdr = new byte[13];
+        putInt(ihdr, 0, width);
+        putInt(ihdr, 4, height);
+        ihdr[8] = 8;
+        ihdr[9] = 3;
+        writeChunk(os, "IHDR", ihdr, ihdr.length);
+
+        byte[] plte = new byte[PALETTE.length * 3];
+        for (int i = 0; i < PALETTE.length; i++) {
+            plte[i * 3]     = (byte) (PALETTE[i] >>> 16);
+            plte[i * 3 + 1] = (byte) (PALETTE[i] >>> 8);
+            plte[i * 3 + 2] = (byte) PALETTE[i];
+        }
+        writeChunk(os, "PLTE", plte, plte.length);
+
+        // One map row at a time: colour cols cells, repeat each pixel/row `scale` times
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] line = new byte[1 + width]; // filter byte 0 (None) + palette indices
+        try {
+            idatStream idat = new idatStream(os);
+            DeflaterOutputStream z = new DeflaterOutputStream(idat, deflater, 1 << 16);
+            for (int r = 0; r < rows; r++) {
+                int p = 1;
+                for (int c = 0; c < cols; c++) {
+                    byte index = (byte) colour(fm, cost, field, heatMax, r, c);
+                    for (int k = 0; k < scale; k++) line[p++] = index;
+                }
+                for (int k = 0; k < scale; k++) z.write(line, 0, line.length);
+            }
+            z.finish();
+            idat.flushChunk();
+        } finally {
+            deflater.end();
+        }
+
+        writeChunk(os, "IEND", new byte[0], 0);
+        os.flush();
+    }
+
+    // Scale >= 1, and the image (plus each row's filter byte) fits in int sizes
+    private static void checkSize(finderMap fm, int scale) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale must be at least 1.");
+        }
+        long w = (long) fm.getCols() * scale;
+        long h = (long) fm.getRows() * scale;
+        if (w + 1 > Integer.MAX_VALUE || h > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Image too large: " + w + " x " + h);
+        }
+    }
+
+    // Palette index of one cell
+    private static int colour(finderMap fm, int[][] cost, costField field, int heatMax, int r, int c) {
+        int v = cost[r][c];
+        if (v < 0) return WALL;
+        char ch = fm.getSymbol(r, c);
+        if (ch == '#') return START;
+        if (ch == '!') return END;
+        if (fm.getVisited(r, c) != 0) return PATH;
+        if (field == null) return v;
+
+        int toGo = field.costFrom(r, c);
+        if (toGo < 0) return CUT_OFF;
+        return HEAT + (int) ((long) toGo * (HEAT_LEVELS - 1) / heatMax);
+    }
+
+    private static int mix(int a, int b, double t) {
+        int r = (int) Math.round(((a >>> 16) & 0xff) * (1 - t) + ((b >>> 16) & 0xff) * t);
+        int g = (int) Math.round(((a >>> 8) & 0xff) * (1 - t) + ((b >>> 8) & 0xff) * t);
+        int bl = (int) Math.round((a & 0xff) * (1 - t) + (b & 0xff) * t);
+        return (r << 16) | (g << 8) | bl;
+    }
+
+    // ===== PNG chunks =====
+
+    private static void writeChunk(OutputStream os, String type, byte[] data, int len) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        byte[] t = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(t);
+        crc.update(data, 0, len);
+        out.writeInt(len);
+        out.write(t);
+        out.write(data, 0, len);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    /** Collects compressed bytes and writes them out as IDAT chunks of at most 64 KB. */
+    private static final class idatStream extends FilterOutputStream {
+        private final byte[] buf = new byte[IDAT_CHUNK];
+        private int n = 0;
+
+        idatStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (n == buf.length) flushChunk();
+            buf[n++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (n == buf.length) flushChunk();
+                int k = Math.min(len, buf.length - n);
+                System.arraycopy(b, off, buf, n, k);
+                n += k;
+                off += k;
+                len -= k;
+            }
+        }
+
+        void flushChunk() throws IOException {
+            if (n > 0) writeChunk(out, "IDAT", buf, n);
+            n = 0;
+        }
+
+        @Override
+        public void close() {
+            // the PNG stream is owned by the caller
+        }
+    }
+}
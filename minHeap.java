@@ -0,0 +1,93 @@
+/*
+ Project B — Primitive priority queue for the best-first solvers
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - Binary min-heap of (long key, int cell) pairs kept in two parallel arrays,
+     so the A*-style searches do not box Integers or allocate a node per push.
+   - Duplicates are allowed ("lazy deletion"): a solver pushes a cell again when its
+     key improves and skips stale entries when they are popped.
+*/
+
+class minHeap {
+    private long[] keys;
+    private int[] cells;
+    private int size;
+
+    minHeap(int capacity) {
+        keys = new long[Math.max(capacity, 16)];
+        cells = new int[keys.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Add a cell with the given key. */
+    void push(long key, int cell) {
+        if (size == keys.length) {
+            keys = java.util.Arrays.copyOf(keys, size * 2);
+            cells = java.util.Arrays.copyOf(cells, size * 2);
+        }
+        int i = size++;
+        // Sift up
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (keys[p] <= key) break;
+            keys[i] = keys[p];
+            cells[i] = cells[p];
+            i = p;
+        }
+        keys[i] = key;
+        cells[i] = cell;
+    }
+
+    /** Smallest key (heap must not be empty). */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /** Cell with the smallest key (heap must not be empty). */
+    int peekCell() {
+        return cells[0];
+    }
+
+    /** Remove the smallest entry and return its cell. */
+    int pop() {
+        int top = cells[0];
+        long key = keys[--size];
+        int cell = cells[size];
+        // Sift down
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (keys[child] >= key) break;
+            keys[i] = keys[child];
+            cells[i] = cells[child];
+            i = child;
+        }
+        keys[i] = key;
+        cells[i] = cell;
+        return top;
+    }
+
+    /** Key of the i-th stored entry (any order); for scans over everything still queued. */
+    long keyAt(int i) {
+        return keys[i];
+    }
+
+    /** Cell of the i-th stored entry (any order). */
+    int cellAt(int i) {
+        return cells[i];
+    }
+}
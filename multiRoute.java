@@ -0,0 +1,96 @@
+/*
+ Project B — Many starts, many exits
+ Authors: William Yang, Mohammed Uddin
+
+ Purpose:
+   - Warehouse-style maps with several docks ('#') and several exits ('!').
+   - One pass answers both questions instead of one solve per (start, exit) pair:
+       * for every '#': its nearest '!' and the cost/route to it
+       * overall: the cheapest '#' -> '!' connection
+   - The pass is the cost-to-go field (costField) seeded from every '!' at once, so the
+     work is a single Dijkstra over the map whatever the number of markers.
+
+ Usage:
+   multiRoute.result r = multiRoute.solve(fm);
+   r.getBestStart();            // index into r.getStarts(), -1 if no '#' reaches a '!'
+   r.getCost(i); r.getExit(i); r.getPath(i);
+   // the cheapest connection is also numbered into fm's step grid
+*/
+
+public class multiRoute {
+
+    /** Per-start answers plus the overall cheapest connection. */
+    public static class result {
+        private final costField field;
+        private final int cols;
+        private final int[] starts;
+        private final int best;
+
+        result(costField field, int cols, int[] starts, int best) {
+            this.field = field;
+            this.cols = cols;
+            this.starts = starts;
+            this.best = best;
+        }
+
+        /** Every '#' in row-major order (row * cols + col). */
+        public int[] getStarts() {
+            return starts.clone();
+        }
+
+        /** Number of '#' markers. */
+        public int size() {
+            return starts.length;
+        }
+
+        /** Cost from start i to its nearest '!', or -1 if it cannot reach any. */
+        public int getCost(int i) {
+            return field.costFrom(starts[i] / cols, starts[i] % cols);
+        }
+
+        /** Cell of the '!' nearest to start i, or -1. */
+        public int getExit(int i) {
+            return field.exitFrom(starts[i] / cols, starts[i] % cols);
+        }
+
+        /** Route from start i to its nearest '!' (row * cols + col); empty if none. */
+        public int[] getPath(int i) {
+            return field.pathFrom(starts[i] / cols, starts[i] % cols);
+        }
+
+        /** Index of the start with the cheapest connection, or -1 if none connects. */
+        public int getBestStart() {
+            return best;
+        }
+
+        /** Cost of the cheapest '#' -> '!' connection, or -1. */
+        public int getBestCost() {
+            return (best < 0) ? -1 : getCost(best);
+        }
+    }
+
+    /**
+     * Solve all starts against all exits in one pass.
+     * The cheapest connection is numbered into fm's step grid (cleared if there is none).
+     * Ties between starts go to the first in row-major order.
+     */
+    public static result solve(finderMap fm) {
+        costField field = fm.getCostField();
+        int cols = fm.getCols();
+        int[] starts = fm.getStartCells();
+
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < starts.length; i++) {
+            int c = field.costFrom(starts[i] / cols, starts[i] % cols);
+            if (c >= 0 && c < bestCost) {
+                bestCost = c;
+                best = i;
+            }
+        }
+
+        if (best >= 0) field.writePath(fm, starts[best] / cols, starts[best] % cols);
+        else fm.clearAllVisited();
+        return new result(field, cols, starts, best);
+    }
+}
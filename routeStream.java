@@ -0,0 +1,202 @@
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ Project B — Lazy route enumeration (Goal Set #4 routes, on demand)
+ Authors: William Yang, Mohammed Uddin.
+
+ Purpose:
+   - Same routes as TestGoal4's all-routes search (every simple path from '#' to '!'),
+     in the same order, but produced one at a time from an explicit search stack
+     instead of being pushed into a list.
+   - Consumers can stop whenever they like, so limit / filter / findFirst / writing to disk
+     use constant memory:
+       routeStream.of(fm).limit(10)
+       routeStream.of(fm).filter(r -> r.getCost() <= 20)
+       routeStream.of(fm).min(Comparator.comparingInt(completeRoute::getCost))
+   - Routes are compact completeRoutes (cost + cells); fm is only read, never marked.
+   - trySplit hands off part of the remaining search, so .parallel() streams work.
+
+ Route cost = sum of the costs of the cells after '#' (the same total TestGoal4 prints).
+*/
+
+public class routeStream {
+
+    // Same neighbour order as TestGoal4.floodfill_dfs: down, up, right, left
+    private static final int[] DR = { 1,-1, 0, 0};
+    private static final int[] DC = { 0, 0, 1,-1};
+    private static final int ALL_DIRS = 0b1111;
+
+    /** Sequential stream of all routes. */
+    public static Stream<completeRoute> of(finderMap fm) {
+        return of(fm, false);
+    }
+
+    /** Stream of all routes; parallel = true splits the search across the common pool. */
+    public static Stream<completeRoute> of(finderMap fm, boolean parallel) {
+        return StreamSupport.stream(new routeSpliterator(fm), parallel);
+    }
+
+    /** Plain iterator over all routes. */
+    public static Iterator<completeRoute> iterator(finderMap fm) {
+        return Spliterators.iterator(new routeSpliterator(fm));
+    }
+
+    /**
+     * Depth-first search with an explicit stack.
+     * Level i of the stack holds the cell path[i], the cost so far, and a bit mask of the
+     * directions not tried yet from that cell.
+     */
+    static final class routeSpliterator implements Spliterator<completeRoute> {
+        private final int rows, cols, end;
+        private final int[][] cost;
+
+        private int[] path;
+        private int[] pcost;
+        private int[] rem;
+        private int depth;
+        private final long[] visited; // bit per cell: on the current path
+
+        routeSpliterator(finderMap fm) {
+            this.rows = fm.getRows();
+            this.cols = fm.getCols();
+            this.cost = fm.costRows();
+            int[] s = fm.getStartOrEnd('s');
+            int[] e = fm.getStartOrEnd('e');
+            this.end = e[0] * cols + e[1];
+            this.visited = new long[(rows * cols + 63) >>> 6];
+            this.path = new int[16];
+            this.pcost = new int[16];
+            this.rem = new int[16];
+
+            int start = s[0] * cols + s[1];
+            if (cost[s[0]][s[1]] < 0 || start == end) {
+                depth = -1; // nothing to enumerate
+            } else {
+                depth = 0;
+                path[0] = start;
+                rem[0] = ALL_DIRS;
+                mark(start);
+            }
+        }
+
+        // Copy for trySplit
+        private routeSpliterator(routeSpliterator o) {
+            this.rows = o.rows;
+            this.cols = o.cols;
+            this.end = o.end;
+            this.cost = o.cost;
+            this.path = o.path.clone();
+            this.pcost = o.pcost.clone();
+            this.rem = o.rem.clone();
+            this.depth = o.depth;
+            this.visited = o.visited.clone();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super completeRoute> action) {
+            while (depth >= 0) {
+                int mask = rem[depth];
+                int v = path[depth];
+                if (mask == 0) {
+                    unmark(v); // every direction tried: backtrack
+                    depth--;
+                    continue;
+                }
+
+                int d = Integer.numberOfTrailingZeros(mask);
+                rem[depth] = mask & ~(1 << d);
+
+                int nr = v / cols + DR[d], nc = v % cols + DC[d];
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
+                int w = cost[nr][nc];
+                if (w < 0) continue;
+                int u = nr * cols + nc;
+                if (isMarked(u)) continue;
+
+                int nextCost = pcost[depth] + w;
+                if (u == end) {
+                    int[] cells = new int[depth + 2];
+                    System.arraycopy(path, 0, cells, 0, depth + 1);
+                    cells[depth + 1] = u;
+                    action.accept(new completeRoute(nextCost, cells));
+                    return true;
+                }
+
+                // Go one level deeper
+                depth++;
+                if (depth == path.length) {
+                    path = java.util.Arrays.copyOf(path, depth * 2);
+                    pcost = java.util.Arrays.copyOf(pcost, depth * 2);
+                    rem = java.util.Arrays.copyOf(rem, depth * 2);
+                }
+                path[depth] = u;
+                pcost[depth] = nextCost;
+                rem[depth] = ALL_DIRS;
+                mark(u);
+            }
+            return false;
+        }
+
+        /**
+         * Splits off the routes that come first in order (a prefix, as ORDERED requires).
+         *   - If some level below the top still has untried directions, the returned
+         *     spliterator takes the current deep branch and this one keeps those directions.
+         *   - Otherwise the top level's untried directions are divided in two.
+         */
+        @Override
+        public Spliterator<completeRoute> trySplit() {
+            for (int f = 0; f <= depth; f++) {
+                int mask = rem[f];
+                if (mask == 0) continue;
+
+                if (f < depth) {
+                    routeSpliterator prefix = new routeSpliterator(this);
+                    prefix.rem[f] = 0;
+                    for (int i = f + 1; i <= depth; i++) unmark(path[i]);
+                    depth = f;
+                    return prefix;
+                }
+                if (Integer.bitCount(mask) >= 2) {
+                    // Lower bits are tried first, so they form the prefix
+                    int low = lowHalf(mask);
+                    routeSpliterator prefix = new routeSpliterator(this);
+                    prefix.rem[f] = low;
+                    rem[f] = mask & ~low;
+                    return prefix;
+                }
+                return null;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return (depth < 0) ? 0 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        private static int lowHalf(int mask) {
+            int keep = Integer.bitCount(mask) / 2;
+            int low = 0;
+            for (int i = 0; i < keep; i++) {
+                int bit = Integer.lowestOneBit(mask);
+                low |= bit;
+                mask &= ~bit;
+            }
+            return low;
+        }
+
+        private void mark(int cell)       { visited[cell >>> 6] |= 1L << cell; }
+        private void unmark(int cell)     { visited[cell >>> 6] &= ~(1L << cell); }
+        private boolean isMarked(int cell) { return (visited[cell >>> 6] & (1L << cell)) != 0; }
+    }
+}
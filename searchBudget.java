@@ -0,0 +1,58 @@
+/*
+ Project B — Search budgets
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - Limits for the exponential searches (backtrack.solve, TestGoal4.solveLowest) so one bad
+     map cannot pin a core forever:
+       * maxNodes  - cells expanded
+       * maxDepth  - route length in steps; longer branches are not explored
+       * maxMillis - wall-clock time, checked every 1024 nodes (nanoTime is not free)
+     0 means "no limit" for each of them.
+   - When a node or time budget runs out the solver stops and returns a searchResult with
+     the best route found so far, the nodes expanded, and exhaustive = false.
+
+ Usage:
+   searchBudget b = new searchBudget(1_000_000, 0, 50);   // 1M nodes, any depth, 50 ms
+   searchResult r = TestGoal4.solveLowest(fm, b);
+*/
+
+public class searchBudget {
+
+    /** Which limit stopped (or trimmed) a search. */
+    public enum limit { NONE, NODES, DEPTH, TIME }
+
+    /** No limits at all. */
+    public static final searchBudget UNLIMITED = new searchBudget(0, 0, 0);
+
+    private final long maxNodes;
+    private final int maxDepth;
+    private final long maxMillis;
+
+    /**
+     * @param maxNodes  most cells to expand (0 = no limit)
+     * @param maxDepth  most steps in a route (0 = no limit)
+     * @param maxMillis most wall-clock milliseconds (0 = no limit)
+     */
+    public searchBudget(long maxNodes, int maxDepth, long maxMillis) {
+        if (maxNodes < 0 || maxDepth < 0 || maxMillis < 0) {
+            throw new IllegalArgumentException("Budgets cannot be negative.");
+        }
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+        this.maxMillis = maxMillis;
+    }
+
+    public long getMaxNodes()  { return maxNodes; }
+    public int  getMaxDepth()  { return maxDepth; }
+    public long getMaxMillis() { return maxMillis; }
+
+    // Forms the solvers use in their hot loops: "unlimited" becomes the largest value
+    long nodeCap()  { return (maxNodes == 0) ? Long.MAX_VALUE : maxNodes; }
+    int  depthCap() { return (maxDepth == 0) ? Integer.MAX_VALUE : maxDepth; }
+
+    /** nanoTime deadline for a search starting now (Long.MAX_VALUE if no time limit). */
+    long deadlineFromNow() {
+        return (maxMillis == 0) ? Long.MAX_VALUE : System.nanoTime() + maxMillis * 1_000_000L;
+    }
+}
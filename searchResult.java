@@ -0,0 +1,59 @@
+/*
+ Project B — Result of a budgeted search
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - What backtrack.solve / TestGoal4.solveLowest return when given a searchBudget:
+     the best route found (possibly partial work), how many nodes were expanded, and
+     whether the search covered everything it was supposed to.
+   - The route is also numbered into the map's step grid, like the unbudgeted solvers.
+*/
+
+public class searchResult {
+    private final int cost;
+    private final int[] path;
+    private final long nodes;
+    private final boolean exhaustive;
+    private final searchBudget.limit stoppedBy;
+
+    searchResult(int cost, int[] path, long nodes, boolean exhaustive, searchBudget.limit stoppedBy) {
+        this.cost = cost;
+        this.path = path;
+        this.nodes = nodes;
+        this.exhaustive = exhaustive;
+        this.stoppedBy = stoppedBy;
+    }
+
+    /** Cost of the best route found, or -1 if none was found. */
+    public int getCost() {
+        return cost;
+    }
+
+    /** Best route found, '#' to '!' (row * cols + col); empty if none. */
+    public int[] getPath() {
+        return path;
+    }
+
+    /** True if a route was found. */
+    public boolean hasRoute() {
+        return cost >= 0;
+    }
+
+    /** Cells expanded. */
+    public long getNodesExpanded() {
+        return nodes;
+    }
+
+    /**
+     * True if no budget cut the search short, so the answer is final
+     * (for solveLowest: the route is the cheapest; for backtrack: "no route" is certain).
+     */
+    public boolean isExhaustive() {
+        return exhaustive;
+    }
+
+    /** The limit that stopped or trimmed the search (NONE if none did). */
+    public searchBudget.limit getStoppedBy() {
+        return stoppedBy;
+    }
+}
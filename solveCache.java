@@ -0,0 +1,302 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.nio.file.attribute.FileTime;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/*
+ Project B — Solve result cache
+ Authors: Mohammed Uddin, William Yang
+
+ Purpose:
+   - Remember solver results so pressing Solve on the same map (or re-running a batch on
+     unchanged maps) does not search again.
+   - Key = SHA-256 of the map's cost grid + marker positions + the solver mode string.
+     The mode string should include any solver parameters (e.g. "lowest" or "backtrack").
+   - Value = total cost + compact path (cell indices, see finderMap.getPathCells).
+   - In memory: LRU with a fixed number of entries.
+   - Optional on-disk store: one small text file per key, reused between runs. It is capped
+     too (by default at the same number of entries): when a write takes it over the cap, the
+     least recently used files are deleted.
+   - Counters for hits, misses, disk hits and evictions (memory and disk).
+
+ Usage:
+   solveCache cache = new solveCache(256, Path.of(".solve-cache"));
+   int cost = cache.solve(fm, "backtrack", solveCache.BACKTRACK);
+   // fm's step grid now holds the numbered path (cached or freshly solved)
+*/
+
+public class solveCache {
+
+    /**
+     * A solver the cache can wrap.
+     * Must return the total cost (or -1 when there is no route) and leave the route
+     * numbered 1, 2, 3, ... in fm's step grid.
+     */
+    public interface solver {
+        int solve(finderMap fm);
+    }
+
+    /** Goal 3 first-found route (backtrack.solve). */
+    public static final solver BACKTRACK = fm -> backtrack.solve(fm) ? backtrack.getFinalCost() : -1;
+
+    /** Goal 4 lowest-cost route (TestGoal4 all-routes search). */
+    public static final solver LOWEST = TestGoal4::solveLowest;
+
+    // One cached result
+    private static final class entry {
+        final int cost;
+        final int[] cells;
+
+        entry(int cost, int[] cells) {
+            this.cost = cost;
+            this.cells = cells;
+        }
+    }
+
+    private final int maxEntries;
+    private final Path dir; // null = memory only
+    private final int maxDiskEntries;
+    private final LinkedHashMap<String, entry> lru;
+
+    private int diskCount = -1; // route files in dir; -1 until the first write lists them
+
+    private long hits = 0;
+    private long misses = 0;
+    private long diskHits = 0;
+    private long evictions = 0;
+    private long diskEvictions = 0;
+
+    /** Memory-only cache holding at most maxEntries results. */
+    public solveCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Cache holding at most maxEntries results in memory, backed by files in dir
+     * (created if missing). Pass null for memory only.
+     */
+    public solveCache(int maxEntries, Path dir) {
+        this(maxEntries, dir, maxEntries);
+    }
+
+    /**
+     * Same as solveCache(maxEntries, dir), but keeps at most maxDiskEntries files in dir.
+     * Files already there count towards the cap.
+     */
+    public solveCache(int maxEntries, Path dir, int maxDiskEntries) {
+        if (maxEntries < 1 || maxDiskEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1.");
+        }
+        this.maxEntries = maxEntries;
+        this.dir = dir;
+        this.maxDiskEntries = maxDiskEntries;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, entry> eldest) {
+                if (size() > solveCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cost for (fm, mode) and writes the route into fm's step grid.
+     * On a miss, runs s, stores its result, and returns it.
+     *
+     * @param fm
+     * @param mode solver name plus parameters; part of the key
+     * @param s solver used on a miss
+     * @return total cost, or -1 if there is no route
+     */
+    public synchronized int solve(finderMap fm, String mode, solver s) {
+        String key = key(fm, mode);
+
+        entry e = lru.get(key);
+        if (e == null && dir != null) {
+            e = readFromDisk(key, fm);
+            if (e != null) {
+                diskHits++;
+                lru.put(key, e);
+            }
+        }
+
+        if (e != null) {
+            hits++;
+            fm.applyPath(e.cells);
+            return e.cost;
+        }
+
+        misses++;
+        int cost = s.solve(fm);
+        e = new entry(cost, cost < 0 ? new int[0] : fm.getPathCells());
+        lru.put(key, e);
+        if (dir != null) writeToDisk(key, e);
+        return cost;
+    }
+
+    /**
+     * Content key: SHA-256 over the mode, the map size, and one byte per cell
+     * (cost 0..15, 0xFF blocked, 0x10 for '#', 0x11 for '!').
+     */
+    public static String key(finderMap fm, String mode) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+
+        int rows = fm.getRows(), cols = fm.getCols();
+        md.update(mode.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+        md.update(new byte[] {
+            (byte) (rows >>> 24), (byte) (rows >>> 16), (byte) (rows >>> 8), (byte) rows,
+            (byte) (cols >>> 24), (byte) (cols >>> 16), (byte) (cols >>> 8), (byte) cols
+        });
+
+        byte[] row = new byte[cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                char ch = fm.getSymbol(r, c);
+                if (ch == '#')      row[c] = 0x10;
+                else if (ch == '!') row[c] = 0x11;
+                else                row[c] = (byte) fm.getCost(r, c);
+            }
+            md.update(row);
+        }
+
+        StringBuilder sb = new StringBuilder(64);
+        for (byte b : md.digest()) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    // ===== Metrics =====
+
+    public synchronized long getHits()      { return hits; }
+    public synchronized long getMisses()    { return misses; }
+    public synchronized long getDiskHits()  { return diskHits; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getDiskEvictions() { return diskEvictions; }
+    public synchronized int  size()         { return lru.size(); }
+
+    /** Drop the in-memory entries (files on disk are kept). */
+    public synchronized void clear() {
+        lru.clear();
+    }
+
+    // ===== Disk store =====
+    // File "<key>.route": first line = cost, second line = space-separated cell indices.
+    // Disk problems never fail a solve; they just count as a miss. A file that does not fit
+    // the map (damaged, hand-edited, or from another key scheme) is deleted, so the fresh
+    // result replaces it and it never reaches the LRU.
+    // A file's modification time is its last use (set on write and on every disk hit), and
+    // trimDisk() deletes the oldest first.
+
+    private entry readFromDisk(String key, finderMap fm) {
+        Path f = dir.resolve(key + ".route");
+        if (!Files.isRegularFile(f)) return null;
+        entry e;
+        try {
+            String[] lines = Files.readString(f).split("\n", -1);
+            int cost = Integer.parseInt(lines[0].trim());
+            String cellLine = (lines.length > 1) ? lines[1].trim() : "";
+            String[] parts = cellLine.isEmpty() ? new String[0] : cellLine.split(" ");
+            int[] cells = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) cells[i] = Integer.parseInt(parts[i]);
+            e = new entry(cost, cells);
+        } catch (IOException ex) {
+            return null;
+        } catch (RuntimeException ex) {
+            e = null; // unparsable
+        }
+        if (e != null && fits(e, fm)) {
+            try {
+                Files.setLastModifiedTime(f, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException ex) {
+                // only makes it an earlier eviction candidate
+            }
+            return e;
+        }
+        try {
+            if (Files.deleteIfExists(f) && diskCount > 0) diskCount--;
+        } catch (IOException ex) {
+            // writeToDisk will overwrite it after the solve
+        }
+        return null;
+    }
+
+    // Cost is -1 (no route, no cells) or >= 0, and every cell is a walkable cell of fm
+    private static boolean fits(entry e, finderMap fm) {
+        if (e.cost < -1 || (e.cost == -1 && e.cells.length > 0)) return false;
+        int cols = fm.getCols(), n = fm.getRows() * cols;
+        int[][] cost = fm.costRows();
+        for (int cell : e.cells) {
+            if (cell < 0 || cell >= n || cost[cell / cols][cell % cols] < 0) return false;
+        }
+        return true;
+    }
+
+    private void writeToDisk(String key, entry e) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(e.cost).append('\n');
+        for (int i = 0; i < e.cells.length; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(e.cells[i]);
+        }
+        sb.append('\n');
+        try {
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve(key + ".tmp");
+            Path f = dir.resolve(key + ".route");
+            boolean added = !Files.exists(f);
+            Files.writeString(tmp, sb.toString());
+            Files.move(tmp, f,
+                java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+                java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+            if (diskCount < 0 || (added && ++diskCount > maxDiskEntries)) trimDisk();
+        } catch (IOException ex) {
+            // memory entry is still valid; skip the disk copy
+        }
+    }
+
+    // Recount the route files (another process may share dir) and, if there are more than
+    // maxDiskEntries, delete the least recently used down to 90% of the cap, so the
+    // directory is listed once per tenth of the cap rather than on every write.
+    private void trimDisk() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> s = Files.list(dir)) {
+            s.filter(p -> p.getFileName().toString().endsWith(".route")).forEach(files::add);
+        }
+        diskCount = files.size();
+        if (diskCount <= maxDiskEntries) return;
+
+        Map<Path, Long> used = new HashMap<>();
+        for (Path p : files) {
+            try {
+                used.put(p, Files.getLastModifiedTime(p).toMillis());
+            } catch (IOException ex) {
+                used.put(p, Long.MIN_VALUE); // gone or unreadable: first to go
+            }
+        }
+        files.sort(Comparator.comparingLong(used::get));
+
+        int keep = maxDiskEntries - maxDiskEntries / 10;
+        for (int i = 0; diskCount > keep && i < files.size(); i++) {
+            if (Files.deleteIfExists(files.get(i))) diskEvictions++;
+            diskCount--;
+        }
+    }
+}
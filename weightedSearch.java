@@ -0,0 +1,289 @@
+/*
+ Project B — Bounded-suboptimal search (A* epsilon, focal list)
+ Authors: William Yang, Mohammed Uddin
+
+ Purpose:
+   - For callers that would rather get a route quickly than the very cheapest one:
+     the returned route costs at most (1 + epsilon) times the optimal cost.
+   - Every result also carries a proven lower bound on the optimal cost and the number of
+     nodes expanded, so a caller can see exactly how much accuracy it traded for speed.
+
+ How it works:
+   - f = g + h, where
+       g = cost so far (sum of the cells stepped onto after '#'),
+       h = (manhattan distance to '!' - 1) * cheapest cost of any walkable cell other than
+           the route's own '#' and '!'.
+     Extra '#' / '!' markers are ordinary 0-cost cells a route may cross, so any of them
+     makes that minimum 0. h never overestimates and is consistent.
+   - Scaling h by (1 + epsilon) (plain weighted A*) buys nothing when h is 0 or tiny, and
+     on these maps it usually is: one '0' cell or extra marker makes h 0 everywhere. So
+     epsilon is spent on a focal list instead:
+       OPEN  = unsettled cells ordered by f; its smallest f (fmin) is a lower bound on the
+               optimum
+       FOCAL = cells with f <= (1 + epsilon) * fmin, ordered by steps to '!'
+     FOCAL expansions head for '!' (steps are informative even where costs are 0); OPEN
+     expansions of the fmin cell raise the bound. The search stops once the cost of '!' is
+     within (1 + epsilon) * fmin, and reports that fmin as the lower bound.
+   - A cell expanded at f == fmin is settled: its g is optimal, as in A*. Re-opening cells
+     FOCAL expanded too early is what keeps textbook A* epsilon correct, but here it
+     cascades (dozens of expansions per cell on a 1000 x 1000 map), so FOCAL expands each
+     cell once and never touches the settled ones. Some cell of an optimal route then always
+     waits in OPEN at its optimal g, so fmin stays <= optimum.
+   - FOCAL is only taken when it gets nearer '!' than it has been before, plus a small share
+     of detours (around walls) rationed against the OPEN expansions. Otherwise it fans out
+     over the whole band and costs more than the bound saves.
+   - epsilon = 0 is plain A* (FOCAL holds only f = fmin): optimal route, lower bound = cost.
+
+ Usage:
+   weightedSearch.result r = weightedSearch.solve(fm, 0.25);
+   r.getCost(); r.getLowerBound(); r.getNodes();
+   fm.applyPath(r.getPath());   // to number the route in the step grid
+*/
+
+public class weightedSearch {
+
+    // epsilon in integer arithmetic: f <= (1 + eps) * fmin  <=>  f <= fmin * wk / SCALE
+    private static final long SCALE = 1000;
+
+    // FOCAL detours allowed per OPEN expansion: min(epsilon, 1) / DETOUR_SHARE
+    private static final long DETOUR_SHARE = 16;
+
+    /** Outcome of one search. */
+    public static class result {
+        private final int cost;
+        private final int lowerBound;
+        private final long nodes;
+        private final int[] path;
+        private final double epsilon;
+
+        result(int cost, int lowerBound, long nodes, int[] path, double epsilon) {
+            this.cost = cost;
+            this.lowerBound = lowerBound;
+            this.nodes = nodes;
+            this.path = path;
+            this.epsilon = epsilon;
+        }
+
+        /** Route cost, or -1 if '!' cannot be reached. */
+        public int getCost() { return cost; }
+
+        /** Proven lower bound on the optimal cost (-1 if there is no route). */
+        public int getLowerBound() { return lowerBound; }
+
+        /** Nodes expanded (cells whose neighbours were relaxed). */
+        public long getNodes() { return nodes; }
+
+        /** Route cells from '#' to '!' (row * cols + col); empty if none. */
+        public int[] getPath() { return path; }
+
+        /** The epsilon this search was run with. */
+        public double getEpsilon() { return epsilon; }
+    }
+
+    /**
+     * A* epsilon from '#' to '!': expands from the focal list of cells within (1 + epsilon)
+     * of the best f, closest to '!' first.
+     *
+     * @param fm map to solve (not modified)
+     * @param epsilon allowed relative excess over the optimal cost (>= 0)
+     * @return route, cost, lower bound and node count
+     */
+    public static result solve(finderMap fm, double epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("epsilon must be >= 0.");
+        }
+        return new search(fm, epsilon).run();
+    }
+
+    // ===== Search state for one solve =====
+
+    private static final class search {
+        final int rows, cols, start, end, hmin;
+        final int[][] cost;
+        final double epsilon;
+        final long wk;
+
+        final int[] g;
+        final int[] parent;
+        // settled: popped at f == fmin, so g is optimal (A*'s closed set); scanG: g the cell
+        // was last expanded with (MAX_VALUE if never), so settling it at that g needs no work
+        final boolean[] settled;
+        final int[] scanG;
+
+        // Lazy deletion in all three: an entry is live while the f it was pushed with still
+        // equals g + h (an improved cell is pushed again with a lower f)
+        final minHeap byF = new minHeap(1024);   // every unsettled cell, key f
+        final minHeap focal = new minHeap(1024); // unscanned cells with f <= focalBound, key steps << 32 | f
+        final minHeap rest = new minHeap(1024);  // unscanned cells not yet in focal, key f
+        long focalBound = -1;
+        long focalSteps = Long.MAX_VALUE; // fewest steps to '!' from a cell FOCAL expanded
+        long nodes = 0;
+
+        search(finderMap fm, double epsilon) {
+            this.rows = fm.getRows();
+            this.cols = fm.getCols();
+            this.start = Math.max(fm.getStartCell(), 0);
+            this.end = Math.max(fm.getEndCell(), 0);
+            this.hmin = cheapestStep(fm);
+            this.cost = fm.costRows();
+            this.epsilon = epsilon;
+            this.wk = (long) Math.floor((1 + epsilon) * SCALE); // rounding down keeps the guarantee
+            this.g = new int[rows * cols];
+            this.parent = new int[rows * cols];
+            this.settled = new boolean[rows * cols];
+            this.scanG = new int[rows * cols];
+            java.util.Arrays.fill(g, Integer.MAX_VALUE);
+            java.util.Arrays.fill(scanG, Integer.MAX_VALUE);
+        }
+
+        // Each turn expands the FOCAL cell closest to '!' if FOCAL may go, otherwise the fmin
+        // cell. No cell is expanded more than twice: once from FOCAL, once when settled at a
+        // better g. For epsilon 0 every cell is expanded at f == fmin: plain A*.
+        result run() {
+            if (cost[start / cols][start % cols] < 0) {
+                return new result(-1, -1, 0, new int[0], epsilon);
+            }
+            g[start] = 0;
+            parent[start] = -1;
+            add(start);
+
+            long detours = 0, boundTurns = 0;
+            while (true) {
+                long fmin = fmin();
+                if (fmin < 0 && g[end] == Integer.MAX_VALUE) {
+                    return new result(-1, -1, nodes, new int[0], epsilon);
+                }
+                // Nothing unsettled: '!' is settled too and g(end) is the optimum
+                if (fmin < 0 || g[end] * (long) SCALE <= fmin * wk) {
+                    int bound = (fmin < 0) ? g[end] : (int) Math.min(fmin, g[end]);
+                    int[] path = readPath(parent, end);
+                    return new result(pathCost(path), bound, nodes, path, epsilon);
+                }
+
+                // Widen FOCAL to (1 + epsilon) * fmin
+                long bound = fmin * wk / SCALE;
+                if (bound > focalBound) {
+                    focalBound = bound;
+                    while (!rest.isEmpty() && rest.peekKey() <= focalBound) {
+                        long f = rest.peekKey();
+                        int v = rest.pop();
+                        if (inFocal(v, f)) focal.push(steps(v) << 32 | f, v);
+                    }
+                }
+
+                boolean detour = detours * SCALE * DETOUR_SHARE < boundTurns * Math.min(wk - SCALE, SCALE);
+                int v = popFocal(detour);
+                if (v >= 0) {
+                    if (steps(v) < focalSteps) focalSteps = steps(v);
+                    else detours++;
+                } else {
+                    v = byF.pop(); // fmin() left a live entry on top
+                    boundTurns++;
+                }
+
+                if (f(v) == fmin) settled[v] = true;
+                if (scanG[v] == g[v]) continue; // FOCAL already relaxed its neighbours at this g
+                scanG[v] = g[v];
+                nodes++;
+                expand(v); // '!' is never popped: it would have passed the test above
+            }
+        }
+
+        private void expand(int v) {
+            int r = v / cols, c = v % cols;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + finderMap.dr(d), nc = c + finderMap.dc(d);
+                if (nr < 0 || nr >= rows || nc < 0 || nc >= cols || cost[nr][nc] < 0) continue;
+                int u = nr * cols + nc;
+                int ng = g[v] + cost[nr][nc];
+                if (ng >= g[u]) continue; // also skips settled cells: their g is optimal
+                g[u] = ng;
+                parent[u] = v;
+                add(u);
+            }
+        }
+
+        private void add(int v) {
+            long f = f(v);
+            byF.push(f, v);
+            if (scanG[v] != Integer.MAX_VALUE) return; // FOCAL scans a cell once
+            if (f <= focalBound) focal.push(steps(v) << 32 | f, v);
+            else rest.push(f, v);
+        }
+
+        // Smallest f over unsettled cells, or -1 when every reached cell is settled
+        private long fmin() {
+            while (!byF.isEmpty()) {
+                int v = byF.peekCell();
+                if (!settled[v] && byF.peekKey() == f(v)) return byF.peekKey();
+                byF.pop();
+            }
+            return -1;
+        }
+
+        // Live FOCAL entry closest to '!' if it is nearer '!' than FOCAL has been (or a detour
+        // is allowed), else -1
+        private int popFocal(boolean detour) {
+            while (!focal.isEmpty()) {
+                long key = focal.peekKey();
+                int v = focal.peekCell();
+                if (inFocal(v, key & 0xFFFFFFFFL)) return (detour || (key >>> 32) < focalSteps) ? focal.pop() : -1;
+                focal.pop();
+            }
+            return -1;
+        }
+
+        private boolean inFocal(int v, long f) {
+            return scanG[v] == Integer.MAX_VALUE && !settled[v] && f == f(v);
+        }
+
+        // Cells stepped onto after '#'; parents of scanned cells may have improved since
+        // their children were costed, so this can be below g(end), never above
+        private int pathCost(int[] path) {
+            int total = 0;
+            for (int i = 1; i < path.length; i++) total += cost[path[i] / cols][path[i] % cols];
+            return total;
+        }
+
+        private long f(int v) {
+            return (long) g[v] + h(v, end, cols, hmin);
+        }
+
+        private long steps(int v) {
+            return Math.abs(v / cols - end / cols) + Math.abs(v % cols - end % cols);
+        }
+    }
+
+    /** (manhattan distance to end - 1) * hmin; stepping onto '!' itself costs 0. */
+    static int h(int v, int end, int cols, int hmin) {
+        int md = Math.abs(v / cols - end / cols) + Math.abs(v % cols - end % cols);
+        return (md > 0) ? (md - 1) * hmin : 0;
+    }
+
+    /**
+     * Cheapest cost of any walkable cell a route from the first '#' to the first '!' can step
+     * onto before reaching '!': every cell except those two (0 if there is none). Any other
+     * '#' / '!' costs 0 and so brings the minimum down to 0.
+     */
+    static int cheapestStep(finderMap fm) {
+        int[][] cost = fm.costRows();
+        int cols = fm.getCols();
+        int start = fm.getStartCell(), end = fm.getEndCell();
+        int min = Integer.MAX_VALUE;
+        for (int r = 0; r < fm.getRows(); r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (cost[r][c] >= 0 && v != start && v != end && cost[r][c] < min) min = cost[r][c];
+            }
+        }
+        return (min == Integer.MAX_VALUE) ? 0 : min;
+    }
+
+    private static int[] readPath(int[] parent, int v) {
+        int len = 0;
+        for (int x = v; x != -1; x = parent[x]) len++;
+        int[] path = new int[len];
+        for (int x = v, i = len - 1; x != -1; x = parent[x], i--) path[i] = x;
+        return path;
+    }
+}